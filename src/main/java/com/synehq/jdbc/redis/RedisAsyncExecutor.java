@@ -0,0 +1,277 @@
+package com.synehq.jdbc.redis;
+
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisAskDataException;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.exceptions.JedisMovedDataException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Executes asynchronously submitted commands for one connection.
+ * A small number of worker threads each take whatever commands are queued,
+ * send them over one pipeline on a pooled connection (one pipeline per node in
+ * cluster mode) and complete the futures as the replies are read. Commands that
+ * arrive while a round is in flight are picked up by the next round, so the number
+ * of round-trips grows with the number of rounds rather than the number of commands.
+ * Commands whose future was already completed, by cancel() or the query timeout, are
+ * not sent.
+ */
+public class RedisAsyncExecutor {
+
+    private static final int MAX_ROUND_SIZE = 512;
+
+    private final RedisConnection connection;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public RedisAsyncExecutor(RedisConnection connection, int threads) {
+        this.connection = connection;
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(this::run, "redis-jdbc-async-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    public CompletableFuture<ResultSet> submit(RedisStatement statement, RedisCommand command) throws SQLException {
+        Pending pending = new Pending(statement, command);
+        // Checked and queued under the lock that shutdown() drains under, so nothing is queued after the drain
+        synchronized (queue) {
+            if (!running) {
+                throw new SQLException("Connection is closed");
+            }
+            queue.add(pending);
+        }
+        return pending.future;
+    }
+
+    /**
+     * Stop the workers and fail every command that has not been sent yet.
+     */
+    public void shutdown() {
+        List<Pending> unsent = new ArrayList<>();
+        synchronized (queue) {
+            running = false;
+            queue.drainTo(unsent);
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Pending pending : unsent) {
+            fail(pending, new SQLException("Connection closed before the command was sent"));
+        }
+    }
+
+    /**
+     * Queue redirected commands for a later round, or fail them if the executor was shut down meanwhile.
+     */
+    private void requeue(List<Pending> pendings) {
+        synchronized (queue) {
+            if (running) {
+                queue.addAll(pendings);
+                return;
+            }
+        }
+        for (Pending pending : pendings) {
+            fail(pending, new SQLException("Connection closed before the command was sent"));
+        }
+    }
+
+    private void run() {
+        List<Pending> round = new ArrayList<>();
+        while (running) {
+            try {
+                round.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(round, MAX_ROUND_SIZE - 1);
+            round.removeIf(pending -> pending.future.isDone());
+            if (round.isEmpty()) {
+                continue;
+            }
+            
+            try {
+                if (connection.isCluster()) {
+                    sendByNode(round);
+                } else {
+                    send(round);
+                }
+            } catch (Exception e) {
+                for (Pending pending : round) {
+                    // Commands of the round that already completed are left as they are
+                    if (!pending.future.isDone()) {
+                        fail(pending, new SQLException("Redis async command failed: " + e.getMessage(), e));
+                    }
+                }
+            }
+            round.clear();
+        }
+    }
+
+    private void send(List<Pending> round) throws SQLException {
+        if (!connection.isReadRouted()) {
+            try (Jedis jedis = connection.getJedis()) {
+                pipeline(jedis, round, false);
+            }
+            return;
+        }
+        
+        // Reads go where readFrom sends them, everything else to the primary; as with
+        // synchronous statements, reads are then not ordered with the writes
+        List<Pending> reads = new ArrayList<>();
+        List<Pending> writes = new ArrayList<>();
+        for (Pending pending : round) {
+            (pending.command.isReadOnly() ? reads : writes).add(pending);
+        }
+        if (!writes.isEmpty()) {
+            try (Jedis jedis = connection.getJedis()) {
+                pipeline(jedis, writes, false);
+            }
+        }
+        if (!reads.isEmpty()) {
+            try (Jedis jedis = connection.getReadJedis(null)) {
+                pipeline(jedis, reads, false);
+            }
+        }
+    }
+
+    /**
+     * Cluster variant of {@link #send}: one pipeline per node owning the commands' slots.
+     */
+    private void sendByNode(List<Pending> round) {
+        Map<HostAndPort, List<Pending>> byNode = new LinkedHashMap<>();
+        for (Pending pending : round) {
+            String key = pending.command.getKey();
+            if (key == null) {
+                fail(pending, new SQLException(
+                    "Keyless command cannot be executed asynchronously in cluster mode: " + pending.command.getCommand()));
+                continue;
+            }
+            byNode.computeIfAbsent(connection.getClusterNode(key), node -> new ArrayList<>()).add(pending);
+        }
+        
+        for (Map.Entry<HostAndPort, List<Pending>> group : byNode.entrySet()) {
+            sendTo(group.getKey(), group.getValue(), false);
+        }
+    }
+
+    /**
+     * Pipeline the commands to one cluster node, prefixing each with ASKING when
+     * following an ASK redirection.
+     */
+    private void sendTo(HostAndPort node, List<Pending> pendings, boolean asking) {
+        try (Jedis jedis = connection.getJedis(node)) {
+            pipeline(jedis, pendings, asking);
+        } catch (Exception e) {
+            for (Pending pending : pendings) {
+                if (!pending.future.isDone()) {
+                    fail(pending, new SQLException("Redis async command failed: " + e.getMessage(), e));
+                }
+            }
+        }
+    }
+
+    private void pipeline(Jedis jedis, List<Pending> pendings, boolean asking) {
+        Pipeline pipeline = jedis.pipelined();
+        List<Response<Object>> responses = new ArrayList<>(pendings.size());
+        for (Pending pending : pendings) {
+            RedisCommand command = pending.command;
+            if (asking) {
+                pipeline.sendCommand(Protocol.Command.ASKING, new String[0]);
+            }
+            if (command.isBinary() || connection.isBinary()) {
+                responses.add(pipeline.sendCommand(RedisStatement.protocolCommand(command.getCommand()), command.getBinaryArgs()));
+            } else {
+                responses.add(pipeline.sendCommand(RedisStatement.protocolCommand(command.getCommand()), command.getArgs()));
+            }
+        }
+        pipeline.sync();
+        
+        List<Pending> moved = new ArrayList<>();
+        Map<HostAndPort, List<Pending>> asked = new LinkedHashMap<>();
+        for (int i = 0; i < pendings.size(); i++) {
+            Pending pending = pendings.get(i);
+            try {
+                Object reply = responses.get(i).get();
+                RedisNearCache nearCache = connection.getNearCache();
+                if (nearCache != null) {
+                    nearCache.invalidateWritten(pending.command);
+                }
+                RedisResultSet rs = pending.statement.toResultSet(pending.command, reply);
+                record(pending, reply, rs.getMaterializedRowCount(), null);
+                pending.future.complete(rs);
+            } catch (JedisMovedDataException e) {
+                // Slot migrated: retry in a later round once the slot map has been reloaded
+                if (++pending.redirections <= connection.getMaxRedirections()) {
+                    moved.add(pending);
+                } else {
+                    fail(pending, new SQLException("Redis command failed: " + e.getMessage(), e));
+                }
+            } catch (JedisAskDataException e) {
+                // Slot is being migrated: ask the importing node, without touching the slot map
+                if (++pending.redirections <= connection.getMaxRedirections()) {
+                    asked.computeIfAbsent(e.getTargetNode(), node -> new ArrayList<>()).add(pending);
+                } else {
+                    fail(pending, new SQLException("Redis command failed: " + e.getMessage(), e));
+                }
+            } catch (JedisException e) {
+                fail(pending, new SQLException("Redis command failed: " + e.getMessage(), e));
+            } catch (RuntimeException e) {
+                // E.g. a reply the result set cannot represent
+                fail(pending, new SQLException("Redis async command failed: " + e.getMessage(), e));
+            }
+        }
+        if (!moved.isEmpty()) {
+            connection.renewClusterSlots();
+            requeue(moved);
+        }
+        for (Map.Entry<HostAndPort, List<Pending>> target : asked.entrySet()) {
+            sendTo(target.getKey(), target.getValue(), true);
+        }
+    }
+
+    private void fail(Pending pending, SQLException error) {
+        record(pending, null, -1, error);
+        pending.future.completeExceptionally(error);
+    }
+
+    /**
+     * Record a completed command; its latency runs from submission, including the time spent queued.
+     */
+    private void record(Pending pending, Object reply, int rows, SQLException error) {
+        RedisMetrics metrics = connection.getMetrics();
+        if (metrics != null) {
+            metrics.record(pending.command.getCommand(), System.nanoTime() - pending.submitted, 0,
+                RedisMetrics.requestSize(pending.command), error == null ? RedisMetrics.replySize(reply) : 0, rows, error);
+        }
+    }
+
+    private static final class Pending {
+        private final RedisStatement statement;
+        private final RedisCommand command;
+        private final CompletableFuture<ResultSet> future = new CompletableFuture<>();
+        private final long submitted = System.nanoTime();
+        private int redirections;
+
+        private Pending(RedisStatement statement, RedisCommand command) {
+            this.statement = statement;
+            this.command = command;
+        }
+    }
+}
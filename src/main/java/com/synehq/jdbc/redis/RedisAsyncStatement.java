@@ -0,0 +1,29 @@
+package com.synehq.jdbc.redis;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous extension of a Redis statement, obtained with
+ * {@code statement.unwrap(RedisAsyncStatement.class)}.
+ * Commands submitted concurrently are multiplexed over pipelines on a few pooled
+ * connections, so many independent reads can be in flight without a thread per request.
+ */
+public interface RedisAsyncStatement {
+
+    /**
+     * Submit a command without waiting for its reply. Replies are not converted by the
+     * typed Jedis API: bulk strings come back as bytes (decoded by {@code getString()}),
+     * integers as {@code count}, arrays as one row per element and HGETALL as field/value rows.
+     * The future completes on a driver thread; hand heavy work to another executor.
+     * <p>
+     * As for synchronous execution, {@code setMaxRows} bounds range replies, reads follow
+     * {@code readFrom}, and {@code cancel()} and the query timeout (counted from submission)
+     * fail the futures of commands not yet answered.
+     *
+     * @throws SQLException if the statement is closed, the command cannot be parsed, or it is
+     *                      a blocking command, which would stall the commands pipelined after it
+     */
+    CompletableFuture<ResultSet> executeAsync(String sql) throws SQLException;
+}
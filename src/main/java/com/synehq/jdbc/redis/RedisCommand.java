@@ -1,15 +1,53 @@
 package com.synehq.jdbc.redis;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Redis command representation.
  */
 public class RedisCommand {
+    private static final Set<String> KEYLESS_COMMANDS = new HashSet<>(Arrays.asList(
+        "PING", "ECHO", "INFO", "DBSIZE", "FLUSHDB", "FLUSHALL", "SELECT", "KEYS", "SCAN",
+        "RANDOMKEY", "TIME", "LASTSAVE", "SAVE", "BGSAVE", "BGREWRITEAOF", "CLIENT", "CONFIG",
+        "CLUSTER", "COMMAND", "SLOWLOG", "MONITOR", "ROLE", "SCRIPT", "FUNCTION",
+        "AUTH", "HELLO", "QUIT", "RESET", "MULTI", "EXEC", "DISCARD", "UNWATCH", "WAIT",
+        "PUBLISH", "PUBSUB", "SWAPDB", "READONLY", "READWRITE", "ACL", "LATENCY", "MODULE"));
+    private static final Set<String> SUBCOMMAND_KEY_COMMANDS = new HashSet<>(Arrays.asList(
+        "XINFO", "XGROUP", "OBJECT", "MEMORY"));
+    private static final Set<String> BLOCKING_COMMANDS = new HashSet<>(Arrays.asList(
+        "BLPOP", "BRPOP", "BRPOPLPUSH", "BLMOVE", "BLMPOP", "BZPOPMIN", "BZPOPMAX", "BZMPOP", "WAIT"));
+    private static final Set<String> READ_COMMANDS = new HashSet<>(Arrays.asList(
+        "GET", "MGET", "STRLEN", "GETRANGE", "SUBSTR", "EXISTS", "TYPE", "TTL", "PTTL", "EXPIRETIME",
+        "PEXPIRETIME", "KEYS", "SCAN", "RANDOMKEY", "DBSIZE", "DUMP", "OBJECT",
+        "HGET", "HMGET", "HGETALL", "HKEYS", "HVALS", "HLEN", "HEXISTS", "HSTRLEN", "HSCAN", "HRANDFIELD",
+        "LRANGE", "LLEN", "LINDEX", "LPOS",
+        "SMEMBERS", "SISMEMBER", "SMISMEMBER", "SCARD", "SRANDMEMBER", "SSCAN", "SINTER", "SUNION",
+        "SDIFF", "SINTERCARD",
+        "ZRANGE", "ZREVRANGE", "ZRANGEBYSCORE", "ZREVRANGEBYSCORE", "ZRANGEBYLEX", "ZREVRANGEBYLEX",
+        "ZCARD", "ZSCORE", "ZMSCORE", "ZRANK", "ZREVRANK", "ZCOUNT", "ZLEXCOUNT", "ZSCAN", "ZRANDMEMBER",
+        "ZINTER", "ZUNION", "ZDIFF", "ZINTERCARD",
+        "XRANGE", "XREVRANGE", "XREAD", "XLEN", "XINFO", "XPENDING",
+        "GETBIT", "BITCOUNT", "BITPOS", "PFCOUNT", "GEOPOS", "GEODIST", "GEOHASH", "GEOSEARCH"));
+
     private final String command;
     private final String[] args;
+    private final byte[][] binaryArgs;
 
     public RedisCommand(String command, String[] args) {
+        this(command, args, null);
+    }
+
+    /**
+     * @param binaryArgs raw argument bytes sent to the server instead of {@code args}, or null;
+     *                   when set, {@code args} is only a readable form used for key routing and display
+     */
+    public RedisCommand(String command, String[] args, byte[][] binaryArgs) {
         this.command = command;
         this.args = args;
+        this.binaryArgs = binaryArgs;
     }
 
     public String getCommand() {
@@ -20,6 +58,83 @@ public class RedisCommand {
         return args;
     }
 
+    /**
+     * Whether the server may park the command until data arrives or its own timeout expires
+     * (BLPOP and friends, WAIT, and XREAD/XREADGROUP with BLOCK).
+     */
+    public boolean isBlocking() {
+        String name = command.toUpperCase();
+        if (BLOCKING_COMMANDS.contains(name)) {
+            return true;
+        }
+        if ("XREAD".equals(name) || "XREADGROUP".equals(name)) {
+            for (String arg : args) {
+                if ("STREAMS".equalsIgnoreCase(arg)) {
+                    break;
+                }
+                if ("BLOCK".equalsIgnoreCase(arg)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the command only reads data and may be served by a replica. Blocking
+     * reads are excluded so that they stay cancellable through the primary.
+     */
+    public boolean isReadOnly() {
+        return READ_COMMANDS.contains(command.toUpperCase()) && !isBlocking();
+    }
+
+    /**
+     * Whether the command carries raw argument bytes that must be sent as-is.
+     */
+    public boolean isBinary() {
+        return binaryArgs != null;
+    }
+
+    /**
+     * Arguments as bytes: the raw arguments when present, otherwise the UTF-8 encoding of {@link #getArgs()}.
+     */
+    public byte[][] getBinaryArgs() {
+        if (binaryArgs != null) {
+            return binaryArgs;
+        }
+        byte[][] encoded = new byte[args.length][];
+        for (int i = 0; i < args.length; i++) {
+            encoded[i] = args[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
+    }
+
+    /**
+     * The first key this command operates on, used to route it to the owning
+     * cluster node. Returns null for commands that do not address a key.
+     */
+    public String getKey() {
+        String name = command.toUpperCase();
+        if (KEYLESS_COMMANDS.contains(name)) {
+            return null;
+        }
+        if (SUBCOMMAND_KEY_COMMANDS.contains(name)) {
+            return args.length > 1 ? args[1] : null;
+        }
+        if ("XREAD".equals(name) || "XREADGROUP".equals(name)) {
+            for (int i = 0; i < args.length - 1; i++) {
+                if ("STREAMS".equalsIgnoreCase(args[i])) {
+                    return args[i + 1];
+                }
+            }
+            return null;
+        }
+        if ("EVAL".equals(name) || "EVALSHA".equals(name) || "FCALL".equals(name)) {
+            return args.length > 2 && !"0".equals(args[1]) ? args[2] : null;
+        }
+        return args.length > 0 ? args[0] : null;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -0,0 +1,42 @@
+package com.synehq.jdbc.redis;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of parsed commands keyed by their SQL text, so statements
+ * that are issued over and over skip tokenization and upper-casing.
+ * Cached {@link RedisCommand}s are shared between executions and must not be modified.
+ */
+public class RedisCommandCache {
+
+    private final Map<String, RedisCommand> commands;
+
+    public RedisCommandCache(final int maxSize) {
+        this.commands = new LinkedHashMap<String, RedisCommand>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RedisCommand> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Return the cached command for the SQL text, parsing and caching it on a miss.
+     */
+    public RedisCommand parse(String sql) throws IllegalArgumentException {
+        synchronized (commands) {
+            RedisCommand command = commands.get(sql);
+            if (command != null) {
+                return command;
+            }
+        }
+        
+        // Parse outside the lock; a concurrent miss on the same SQL just parses twice
+        RedisCommand command = RedisCommandParser.parse(sql);
+        synchronized (commands) {
+            commands.put(sql, command);
+        }
+        return command;
+    }
+}
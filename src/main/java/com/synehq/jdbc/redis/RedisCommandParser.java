@@ -1,18 +1,15 @@
 package com.synehq.jdbc.redis;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Parser for Redis commands from SQL-like syntax.
  * Converts SQL-like commands to Redis command format.
  */
 public class RedisCommandParser {
-    
-    private static final Pattern QUOTED_STRING = Pattern.compile("\"([^\"]*)\"|'([^']*)'");
-    private static final Pattern UNQUOTED_WORD = Pattern.compile("\\S+");
 
     /**
      * Parse a Redis command from SQL-like syntax.
@@ -20,68 +17,239 @@ public class RedisCommandParser {
      * - "GET key" -> RedisCommand("GET", ["key"])
      * - "SET key value" -> RedisCommand("SET", ["key", "value"])
      * - "HSET hash field value" -> RedisCommand("HSET", ["hash", "field", "value"])
+     * - "SET key \"two words\\n\"" -> RedisCommand("SET", ["key", "two words" + newline])
+     * - "SET key \"\\xff\"" -> RedisCommand("SET", ["key", ...], raw argument bytes [0xff])
      */
     public static RedisCommand parse(String sql) throws IllegalArgumentException {
-        if (sql == null || sql.trim().isEmpty()) {
+        if (sql == null) {
             throw new IllegalArgumentException("Empty Redis command");
         }
-        
-        String trimmed = sql.trim();
-        List<String> tokens = tokenize(trimmed);
-        
+
+        List<Object> tokens = tokenize(sql, null);
+
         if (tokens.isEmpty()) {
-            throw new IllegalArgumentException("No tokens found in Redis command");
+            throw new IllegalArgumentException("Empty Redis command");
         }
-        
-        String command = tokens.get(0).toUpperCase();
-        String[] args = tokens.subList(1, tokens.size()).toArray(new String[0]);
-        
-        return new RedisCommand(command, args);
+
+        String command = text(tokens.get(0)).toUpperCase();
+        String[] args = new String[tokens.size() - 1];
+        byte[][] binaryArgs = toArgs(tokens, args);
+
+        return new RedisCommand(command, args, binaryArgs);
     }
 
     /**
-     * Tokenize the input string, handling quoted strings properly.
+     * Parse a prepared statement into a template once. Unquoted {@code ?} characters
+     * are parameter markers, either as whole arguments ("GET ?") or inside one
+     * ("GET user:?"); a quoted {@code '?'} is a literal.
      */
-    private static List<String> tokens = new ArrayList<>();
-    
-    private static List<String> tokenize(String input) {
-        List<String> tokens = new ArrayList<>();
-        
-        // First, extract quoted strings
-        Matcher quotedMatcher = QUOTED_STRING.matcher(input);
-        int lastEnd = 0;
-        
-        while (quotedMatcher.find()) {
-            // Add unquoted text before this match
-            String beforeMatch = input.substring(lastEnd, quotedMatcher.start()).trim();
-            if (!beforeMatch.isEmpty()) {
-                addUnquotedTokens(tokens, beforeMatch);
+    public static RedisCommandTemplate parseTemplate(String sql) throws IllegalArgumentException {
+        if (sql == null) {
+            throw new IllegalArgumentException("Empty Redis command");
+        }
+
+        List<Integer> parameterized = new ArrayList<>();
+        List<Object> tokens = tokenize(sql, parameterized);
+
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Empty Redis command");
+        }
+        if (!parameterized.isEmpty() && parameterized.get(0) == 0) {
+            throw new IllegalArgumentException("Command name cannot be a parameter");
+        }
+
+        String command = text(tokens.get(0)).toUpperCase();
+        String[] args = new String[tokens.size() - 1];
+        String[][] fragments = new String[args.length][];
+        byte[][] binaryArgs = toArgs(tokens, args);
+        for (int tokenIndex : parameterized) {
+            // "user:?:name" -> ["user:", ":name"]; binding joins the fragments with the values
+            fragments[tokenIndex - 1] = ((String) tokens.get(tokenIndex)).split("\\?", -1);
+        }
+
+        return new RedisCommandTemplate(command, args, fragments, binaryArgs);
+    }
+
+    /**
+     * Fill {@code args} with the readable form of the tokens after the command name and
+     * return their bytes, or null when no token is raw bytes.
+     */
+    private static byte[][] toArgs(List<Object> tokens, String[] args) {
+        byte[][] binaryArgs = null;
+        for (int i = 0; i < args.length; i++) {
+            Object token = tokens.get(i + 1);
+            args[i] = text(token);
+            if (token instanceof byte[]) {
+                if (binaryArgs == null) {
+                    binaryArgs = new byte[args.length][];
+                }
+                binaryArgs[i] = (byte[]) token;
             }
-            
-            // Add the quoted string (without quotes)
-            String quotedValue = quotedMatcher.group(1);
-            if (quotedValue == null) {
-                quotedValue = quotedMatcher.group(2);
+        }
+        if (binaryArgs != null) {
+            for (int i = 0; i < args.length; i++) {
+                if (binaryArgs[i] == null) {
+                    binaryArgs[i] = args[i].getBytes(StandardCharsets.UTF_8);
+                }
             }
-            tokens.add(quotedValue);
-            
-            lastEnd = quotedMatcher.end();
         }
-        
-        // Add remaining unquoted text
-        String remaining = input.substring(lastEnd).trim();
-        if (!remaining.isEmpty()) {
-            addUnquotedTokens(tokens, remaining);
+        return binaryArgs;
+    }
+
+    private static String text(Object token) {
+        return token instanceof byte[] ? new String((byte[]) token, StandardCharsets.UTF_8) : (String) token;
+    }
+
+    /**
+     * Split the input into tokens in a single pass.
+     * Tokens are separated by whitespace; a quote always starts a new token.
+     * Inside double quotes the redis-cli escapes are understood
+     * (\" \' \\ \n \r \t \b \a and \xHH); inside single quotes only \' is.
+     * Any other backslash is kept as written, together with the character after it.
+     * Tokens are Strings, taken as substrings of the input when they contain no escapes;
+     * a token with a \xHH escape above 0x7F is a {@code byte[]}, so that arbitrary
+     * bytes reach the server unchanged instead of being UTF-8 encoded as characters.
+     * When {@code parameterized} is not null, the indexes of unquoted tokens containing
+     * a {@code ?} parameter marker are added to it.
+     */
+    private static List<Object> tokenize(String input, List<Integer> parameterized) {
+        List<Object> tokens = new ArrayList<>();
+        int length = input.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = input.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '"' || c == '\'') {
+                i = readQuoted(input, i, c, tokens);
+            } else {
+                int start = i;
+                boolean marker = false;
+                while (i < length) {
+                    char next = input.charAt(i);
+                    if (Character.isWhitespace(next) || next == '"' || next == '\'') {
+                        break;
+                    }
+                    marker |= next == '?';
+                    i++;
+                }
+                if (marker && parameterized != null) {
+                    parameterized.add(tokens.size());
+                }
+                tokens.add(input.substring(start, i));
+            }
         }
-        
+
         return tokens;
     }
-    
-    private static void addUnquotedTokens(List<String> tokens, String text) {
-        Matcher matcher = UNQUOTED_WORD.matcher(text);
-        while (matcher.find()) {
-            tokens.add(matcher.group());
+
+    /**
+     * Read a quoted token starting at the opening quote and return the index after the closing quote.
+     */
+    private static int readQuoted(String input, int open, char quote, List<Object> tokens) {
+        int length = input.length();
+        int start = open + 1;
+        StringBuilder unescaped = null;
+        ByteArrayOutputStream raw = null;
+        int i = start;
+
+        while (i < length) {
+            char c = input.charAt(i);
+
+            if (c == quote) {
+                if (raw != null) {
+                    writeUtf8(raw, input.substring(start, i));
+                    tokens.add(raw.toByteArray());
+                } else if (unescaped == null) {
+                    tokens.add(input.substring(start, i));
+                } else {
+                    tokens.add(unescaped.append(input, start, i).toString());
+                }
+                return i + 1;
+            }
+
+            if (c != '\\' || i + 1 >= length) {
+                i++;
+                continue;
+            }
+
+            char escaped = input.charAt(i + 1);
+            int end = i + 2;
+            int decoded;
+            if (quote == '\'') {
+                decoded = escaped == '\'' ? '\'' : -1;
+            } else {
+                switch (escaped) {
+                    case 'n':
+                        decoded = '\n';
+                        break;
+                    case 'r':
+                        decoded = '\r';
+                        break;
+                    case 't':
+                        decoded = '\t';
+                        break;
+                    case 'b':
+                        decoded = '\b';
+                        break;
+                    case 'a':
+                        decoded = '\u0007';
+                        break;
+                    case '"':
+                    case '\'':
+                    case '\\':
+                        decoded = escaped;
+                        break;
+                    case 'x':
+                        if (i + 3 < length && isHexDigit(input.charAt(i + 2)) && isHexDigit(input.charAt(i + 3))) {
+                            decoded = Integer.parseInt(input.substring(i + 2, i + 4), 16);
+                            end = i + 4;
+                        } else {
+                            decoded = -1;
+                        }
+                        break;
+                    default:
+                        decoded = -1;
+                        break;
+                }
+            }
+            if (decoded < 0) {
+                // Not an escape: the backslash stays part of the text, e.g. "C:\path"
+                i += 2;
+                continue;
+            }
+
+            if (decoded > 0x7f && raw == null) {
+                // A single byte that is not a character: build the token as bytes from here on
+                raw = new ByteArrayOutputStream(i - open + 16);
+                if (unescaped != null) {
+                    writeUtf8(raw, unescaped.toString());
+                }
+            }
+            if (raw != null) {
+                writeUtf8(raw, input.substring(start, i));
+                raw.write(decoded);
+            } else {
+                if (unescaped == null) {
+                    unescaped = new StringBuilder(i - start + 16);
+                }
+                unescaped.append(input, start, i).append((char) decoded);
+            }
+            i = end;
+            start = end;
         }
+
+        throw new IllegalArgumentException("Unterminated quoted string at position " + open);
     }
 
+    private static void writeUtf8(ByteArrayOutputStream out, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
 }
@@ -0,0 +1,86 @@
+package com.synehq.jdbc.redis;
+
+/**
+ * Snapshot of the metrics recorded for one command name. Latencies are in
+ * microseconds; percentiles are the upper bound of their histogram bucket.
+ */
+public class RedisCommandStatistics {
+
+    private final String command;
+    private final long count;
+    private final long errors;
+    private final long rows;
+    private final long bytesIn;
+    private final long bytesOut;
+    private final long poolWaitMicros;
+    private final long meanMicros;
+    private final long p50Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+
+    public RedisCommandStatistics(String command, long count, long errors, long rows, long bytesIn, long bytesOut,
+                                  long poolWaitMicros, long meanMicros, long p50Micros, long p99Micros, long maxMicros) {
+        this.command = command;
+        this.count = count;
+        this.errors = errors;
+        this.rows = rows;
+        this.bytesIn = bytesIn;
+        this.bytesOut = bytesOut;
+        this.poolWaitMicros = poolWaitMicros;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    public long getPoolWaitMicros() {
+        return poolWaitMicros;
+    }
+
+    public long getMeanMicros() {
+        return meanMicros;
+    }
+
+    public long getP50Micros() {
+        return p50Micros;
+    }
+
+    public long getP99Micros() {
+        return p99Micros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    @Override
+    public String toString() {
+        return command + " count=" + count + " errors=" + errors + " rows=" + rows
+            + " in=" + bytesIn + "B out=" + bytesOut + "B mean=" + meanMicros + "us p50=" + p50Micros
+            + "us p99=" + p99Micros + "us max=" + maxMicros + "us";
+    }
+}
@@ -0,0 +1,151 @@
+package com.synehq.jdbc.redis;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * A prepared statement parsed once into a command skeleton with parameter slots.
+ * Binding copies the argument array and fills the slots with the parameter values;
+ * the SQL text is never rebuilt or re-parsed. {@code byte[]} values are passed
+ * through unchanged as raw argument bytes; null values are rejected.
+ */
+public class RedisCommandTemplate {
+
+    /**
+     * Marker for parameters that have not been set since the last {@code clearParameters()}.
+     */
+    public static final Object UNSET = new Object();
+
+    private final String command;
+    private final String[] args;
+    private final String[][] fragments;
+    private final byte[][] binaryArgs;
+    private final int parameterCount;
+
+    /**
+     * @param fragments per argument, null for a literal argument, otherwise the literal
+     *                  text around its parameter markers ({@code n} markers, {@code n + 1} fragments)
+     */
+    public RedisCommandTemplate(String command, String[] args, String[][] fragments) {
+        this(command, args, fragments, null);
+    }
+
+    /**
+     * @param binaryArgs bytes of all literal arguments when one of them is raw bytes, otherwise null
+     */
+    public RedisCommandTemplate(String command, String[] args, String[][] fragments, byte[][] binaryArgs) {
+        this.command = command;
+        this.args = args;
+        this.fragments = fragments;
+        this.binaryArgs = binaryArgs;
+
+        int count = 0;
+        for (String[] parts : fragments) {
+            if (parts != null) {
+                count += parts.length - 1;
+            }
+        }
+        this.parameterCount = count;
+    }
+
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * Create the command for one execution from the bound parameter values.
+     */
+    public RedisCommand bind(Object[] parameters) throws SQLException {
+        String[] bound = args.clone();
+        byte[][] binary = null;
+        if (binaryArgs != null) {
+            // Keep the raw literals; parameterized arguments are encoded once bound
+            binary = binaryArgs.clone();
+            for (int i = 0; i < fragments.length; i++) {
+                if (fragments[i] != null) {
+                    binary[i] = null;
+                }
+            }
+        }
+        int next = 0;
+
+        for (int i = 0; i < fragments.length; i++) {
+            String[] parts = fragments[i];
+            if (parts == null) {
+                continue;
+            }
+
+            if (parts.length == 2 && parts[0].isEmpty() && parts[1].isEmpty()) {
+                // The whole argument is a single parameter
+                Object value = parameter(parameters, next++);
+                if (value instanceof byte[]) {
+                    if (binary == null) {
+                        binary = new byte[bound.length][];
+                    }
+                    binary[i] = (byte[]) value;
+                    bound[i] = new String((byte[]) value, StandardCharsets.UTF_8);
+                } else {
+                    bound[i] = String.valueOf(value);
+                }
+                continue;
+            }
+
+            StringBuilder text = new StringBuilder(parts[0]);
+            ByteArrayOutputStream bytes = null;
+            for (int p = 1; p < parts.length; p++) {
+                Object value = parameter(parameters, next++);
+                if (value instanceof byte[] && bytes == null) {
+                    // Switch to building bytes from here on, starting with the text so far
+                    bytes = new ByteArrayOutputStream();
+                    byte[] prefix = text.toString().getBytes(StandardCharsets.UTF_8);
+                    bytes.write(prefix, 0, prefix.length);
+                }
+                append(text, bytes, value);
+                append(text, bytes, parts[p]);
+            }
+            bound[i] = text.toString();
+            if (bytes != null) {
+                if (binary == null) {
+                    binary = new byte[bound.length][];
+                }
+                binary[i] = bytes.toByteArray();
+            }
+        }
+
+        if (binary != null) {
+            for (int i = 0; i < bound.length; i++) {
+                if (binary[i] == null) {
+                    binary[i] = bound[i].getBytes(StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return new RedisCommand(command, bound, binary);
+    }
+
+    private static Object parameter(Object[] parameters, int index) throws SQLException {
+        if (index >= parameters.length || parameters[index] == UNSET) {
+            throw new SQLException("No value specified for parameter " + (index + 1));
+        }
+        if (parameters[index] == null) {
+            // Redis has no NULL argument; don't send the text "null" instead
+            throw new SQLException("Parameter " + (index + 1) + " is null, which Redis cannot store");
+        }
+        return parameters[index];
+    }
+
+    private static void append(StringBuilder text, ByteArrayOutputStream bytes, Object value) {
+        if (value instanceof byte[]) {
+            byte[] raw = (byte[]) value;
+            text.append(new String(raw, StandardCharsets.UTF_8));
+            bytes.write(raw, 0, raw.length);
+        } else {
+            String str = String.valueOf(value);
+            text.append(str);
+            if (bytes != null) {
+                byte[] encoded = str.getBytes(StandardCharsets.UTF_8);
+                bytes.write(encoded, 0, encoded.length);
+            }
+        }
+    }
+}
@@ -1,31 +1,79 @@
 package com.synehq.jdbc.redis;
 
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.DefaultJedisSocketFactory;
+import redis.clients.jedis.DefaultRedisCredentials;
+import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
-import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisFactory;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisClientConfig;
 import redis.clients.jedis.JedisPoolConfig;
-
+import redis.clients.jedis.JedisSentinelPool;
+import redis.clients.jedis.JedisSocketFactory;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.RedisCredentials;
+import redis.clients.jedis.RedisCredentialsProvider;
+import redis.clients.jedis.providers.ClusterConnectionProvider;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.util.JedisClusterCRC16;
+import redis.clients.jedis.util.Pool;
+
+import java.io.File;
 import java.sql.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * Redis JDBC Connection implementation.
- * Handles both standalone Redis and Redis Cluster connections.
+ * Handles standalone Redis, Sentinel-managed and Redis Cluster connections.
  */
 public class RedisConnection implements Connection {
     
+    /** Upper bound for connecting and reading on control connections, see {@link #openControlJedis}. */
+    static final int CONTROL_TIMEOUT_MILLIS = 1000;
+    
     private final String url;
     private final Properties properties;
     private final boolean isCluster;
+    private final boolean isSentinel;
     private final RedisConnectionInfo connectionInfo;
     private final String effectiveUsername;
     private final String effectivePassword;
+    private final JdbcUserCredentials jdbcUserCredentials;
+    private final boolean scanForKeys;
+    private final boolean scanForCollections;
+    private final boolean binary;
+    private final int asyncThreads;
+    private final int scanCount;
+    private final int maxRedirections;
+    private final RedisCommandCache commandCache;
+    private final RedisMetrics metrics;
     
-    private JedisPool jedisPool;
-    private JedisCluster jedisCluster;
+    private Pool<Jedis> jedisPool;
+    private List<Object> sharedPoolKey;
+    private DedicatedJedis dedicatedJedis;
+    private ClusterConnectionProvider clusterProvider;
+    private RedisAsyncExecutor asyncExecutor;
+    private RedisNearCache nearCache;
+    private RedisReplicaRouter replicaRouter;
+    private final RedisReplicaRouter.ReadFrom readFrom;
+    private volatile boolean readOnly = false;
     private boolean closed = false;
     private boolean autoCommit = true;
     private String catalog;
@@ -39,18 +87,46 @@ public class RedisConnection implements Connection {
         this.properties = info != null ? new Properties(info) : new Properties();
         this.connectionInfo = parseConnectionUrl(url);
         this.isCluster = url.startsWith("jdbc:redis:cluster://");
-        
-        // Determine effective credentials. Prefer URL credentials, then properties.
-        String propUser = this.properties.getProperty("user");
-        if (propUser == null) {
-            propUser = this.properties.getProperty("username");
+        this.isSentinel = url.startsWith("jdbc:redis:sentinel://");
+        if (isCluster && Boolean.parseBoolean(this.properties.getProperty("dedicatedConnection", "false"))) {
+            throw new SQLFeatureNotSupportedException("dedicatedConnection is not supported in cluster mode");
         }
-        this.effectiveUsername = this.connectionInfo.getUsername() != null ? this.connectionInfo.getUsername() : propUser;
         
+        // Determine effective credentials. Prefer URL credentials, then properties.
         String propPassword = this.properties.getProperty("password");
         this.effectivePassword = this.connectionInfo.getPassword() != null ? this.connectionInfo.getPassword() : propPassword;
+
+        this.effectiveUsername = this.connectionInfo.getUsername() != null
+            ? this.connectionInfo.getUsername() : this.properties.getProperty("username");
+        String jdbcUser = this.properties.getProperty("user");
+        // The generic JDBC "user" is not necessarily an ACL user (requirepass-only or pre-6 servers)
+        this.jdbcUserCredentials = effectiveUsername == null && effectivePassword != null && jdbcUser != null
+            ? new JdbcUserCredentials(jdbcUser, effectivePassword) : null;
+
+        this.scanForKeys = Boolean.parseBoolean(this.properties.getProperty("useScanForKeys", "false"));
+        this.scanForCollections = Boolean.parseBoolean(this.properties.getProperty("useScanForCollections", "false"));
+        this.scanCount = Integer.parseInt(this.properties.getProperty("scanCount", "1000"));
+        this.maxRedirections = Integer.parseInt(this.properties.getProperty("maxRedirections", "5"));
+        this.binary = Boolean.parseBoolean(this.properties.getProperty("binary", "false"));
+        this.asyncThreads = Integer.parseInt(this.properties.getProperty("asyncThreads", "2"));
+        
+        int commandCacheSize = Integer.parseInt(this.properties.getProperty("commandCacheSize", "256"));
+        this.commandCache = commandCacheSize > 0 ? new RedisCommandCache(commandCacheSize) : null;
+        this.metrics = Boolean.parseBoolean(this.properties.getProperty("metrics", "false")) ? RedisMetrics.enable() : null;
+        
+        this.readFrom = RedisReplicaRouter.ReadFrom.parse(this.properties.getProperty("readFrom", "primary"));
         
         initializeConnection();
+        if (readFrom != RedisReplicaRouter.ReadFrom.PRIMARY) {
+            if (jedisPool == null) {
+                close();
+                throw new SQLFeatureNotSupportedException("readFrom is not supported in cluster or dedicated connection mode");
+            }
+            getReplicaRouter();
+        }
+        if (Boolean.parseBoolean(this.properties.getProperty("nearCache", "false"))) {
+            initializeNearCache();
+        }
     }
 
     private void initializeConnection() throws SQLException {
@@ -66,53 +142,264 @@ public class RedisConnection implements Connection {
     }
 
     private void initializeStandaloneConnection() {
+        if (Boolean.parseBoolean(properties.getProperty("dedicatedConnection", "false"))) {
+            dedicatedJedis = createDedicatedJedis();
+        } else if (Boolean.parseBoolean(properties.getProperty("sharedPool", "false"))) {
+            // Everything that shapes the pooled sockets' client config, so that e.g. a TLS
+            // connection never reuses a plaintext or trust-all pool, and the pool's own settings
+            sharedPoolKey = Arrays.asList(connectionInfo.getHost(), connectionInfo.getPort(),
+                connectionInfo.getSocketPath(), connectionInfo.getMasterName(),
+                connectionInfo.getDatabase(), effectiveUsername, effectivePassword,
+                jdbcUserCredentials != null ? jdbcUserCredentials.getUser() : null, connectionInfo.getClientName(),
+                Boolean.parseBoolean(properties.getProperty("ssl", "false")),
+                Boolean.parseBoolean(properties.getProperty("verifyServerCertificate", "true")),
+                Integer.parseInt(properties.getProperty("connectionTimeout", "2000")),
+                Integer.parseInt(properties.getProperty("socketTimeout", "2000")),
+                Integer.parseInt(properties.getProperty("blockingSocketTimeout", "0")),
+                properties.getProperty("sentinelUser"), properties.getProperty("sentinelPassword"),
+                getPoolSettings());
+            jedisPool = RedisPoolRegistry.acquire(sharedPoolKey, this::createStandalonePool);
+        } else {
+            jedisPool = createStandalonePool();
+        }
+    }
+
+    private void initializeNearCache() throws SQLException {
+        if (isCluster || dedicatedJedis != null) {
+            close();
+            throw new SQLFeatureNotSupportedException("The near cache is not supported in cluster or dedicated connection mode");
+        }
+        int nearCacheSize = Integer.parseInt(properties.getProperty("nearCacheSize", "10000"));
+        nearCache = new RedisNearCache(this::openPrimaryJedis, nearCacheSize);
+    }
+
+    private Pool<Jedis> createStandalonePool() {
+        if (isSentinel) {
+            // The sentinel pool listens for +switch-master and re-points itself at the new master
+            // The factory's address is replaced with the announced master before the first socket is made
+            return new JedisSentinelPool(connectionInfo.getMasterName(), new HashSet<>(connectionInfo.getNodes()),
+                createPoolConfig(), new AuthFallbackJedisFactory(connectionInfo.getNodes().get(0),
+                    buildClientConfig(connectionInfo.getDatabase()), jdbcUserCredentials), buildSentinelClientConfig());
+        }
+        if (connectionInfo.getSocketPath() != null) {
+            return new JedisPool(createPoolConfig(),
+                new AuthFallbackJedisFactory(createUnixSocketFactory(), buildClientConfig(connectionInfo.getDatabase()),
+                    jdbcUserCredentials));
+        }
+        return createPool(new HostAndPort(connectionInfo.getHost(), connectionInfo.getPort()),
+            buildClientConfig(connectionInfo.getDatabase()));
+    }
+
+    private JedisPool createPool(HostAndPort address, DefaultJedisClientConfig clientConfig) {
+        return createPool(createPoolConfig(), address, clientConfig, jdbcUserCredentials);
+    }
+
+    private static JedisPool createPool(JedisPoolConfig poolConfig, HostAndPort address,
+                                        DefaultJedisClientConfig clientConfig, JdbcUserCredentials credentials) {
+        return new JedisPool(poolConfig, new AuthFallbackJedisFactory(address, clientConfig, credentials));
+    }
+
+    private DedicatedJedis createDedicatedJedis() {
+        if (connectionInfo.getSocketPath() != null) {
+            return withAuthFallback(() -> new DedicatedJedis(createUnixSocketFactory(),
+                buildClientConfig(connectionInfo.getDatabase())));
+        }
+        HostAndPort primary = getPrimaryAddress();
+        if (isSentinel) {
+            return withAuthFallback(() -> new DedicatedJedis(new SentinelMasterConnection(primary,
+                buildClientConfig(connectionInfo.getDatabase())), primary));
+        }
+        return withAuthFallback(() -> new DedicatedJedis(primary, buildClientConfig(connectionInfo.getDatabase())));
+    }
+
+    /**
+     * Open a new, unpooled connection to the primary; the caller closes it.
+     */
+    private Jedis openPrimaryJedis() {
+        if (connectionInfo.getSocketPath() != null) {
+            return withAuthFallback(() -> new Jedis(createUnixSocketFactory(), buildClientConfig(connectionInfo.getDatabase())));
+        }
+        HostAndPort primary = getPrimaryAddress();
+        return withAuthFallback(() -> new Jedis(primary, buildClientConfig(connectionInfo.getDatabase())));
+    }
+
+    /**
+     * Open a socket, and if the server rejects AUTH with the JDBC {@code user}, open it
+     * again authenticating with the password alone; see {@link JdbcUserCredentials}.
+     */
+    private <T> T withAuthFallback(Supplier<T> open) {
+        return withAuthFallback(jdbcUserCredentials, open);
+    }
+
+    private static <T> T withAuthFallback(JdbcUserCredentials credentials, Supplier<T> open) {
+        try {
+            return open.get();
+        } catch (JedisException e) {
+            if (credentials == null || !credentials.fallBack(e)) {
+                throw e;
+            }
+            return open.get();
+        }
+    }
+
+    private RedisUnixSocketFactory createUnixSocketFactory() {
+        return new RedisUnixSocketFactory(connectionInfo.getSocketPath(),
+            Integer.parseInt(properties.getProperty("connectionTimeout", "2000")),
+            Integer.parseInt(properties.getProperty("socketTimeout", "2000")));
+    }
+
+    /**
+     * Address of the primary: the URL's host, or for Sentinel URLs the master currently
+     * announced by the sentinels.
+     */
+    private HostAndPort getPrimaryAddress() {
+        return getPrimaryAddress(buildSentinelClientConfig());
+    }
+
+    /**
+     * @param sentinelConfig client settings for asking the sentinels, which bound how long
+     *                       the lookup may take when there is no sentinel pool
+     */
+    private HostAndPort getPrimaryAddress(DefaultJedisClientConfig sentinelConfig) {
+        if (!isSentinel) {
+            return new HostAndPort(connectionInfo.getHost(), connectionInfo.getPort());
+        }
+        if (jedisPool instanceof JedisSentinelPool) {
+            return ((JedisSentinelPool) jedisPool).getCurrentHostMaster();
+        }
+        JedisException lastError = null;
+        for (HostAndPort sentinel : connectionInfo.getNodes()) {
+            try (Jedis jedis = new Jedis(sentinel, sentinelConfig)) {
+                List<String> master = jedis.sentinelGetMasterAddrByName(connectionInfo.getMasterName());
+                if (master != null && master.size() == 2) {
+                    return new HostAndPort(master.get(0), Integer.parseInt(master.get(1)));
+                }
+            } catch (JedisException e) {
+                lastError = e;
+            }
+        }
+        throw new JedisException("No sentinel knows master " + connectionInfo.getMasterName(), lastError);
+    }
+
+    /**
+     * Client settings for the sentinels themselves, which are usually not protected
+     * by the data nodes' credentials ({@code sentinelUser} and {@code sentinelPassword}).
+     */
+    private DefaultJedisClientConfig buildSentinelClientConfig() {
+        return sentinelClientConfigBuilder().build();
+    }
+
+    private DefaultJedisClientConfig.Builder sentinelClientConfigBuilder() {
+        String sentinelPassword = properties.getProperty("sentinelPassword");
+        DefaultJedisClientConfig.Builder builder = DefaultJedisClientConfig.builder()
+            .connectionTimeoutMillis(Integer.parseInt(properties.getProperty("connectionTimeout", "2000")))
+            .socketTimeoutMillis(Integer.parseInt(properties.getProperty("socketTimeout", "2000")))
+            .user(sentinelPassword != null ? properties.getProperty("sentinelUser") : null)
+            .password(sentinelPassword)
+            .clientName(connectionInfo.getClientName());
+        return applySsl(builder);
+    }
+
+    private JedisPoolConfig createPoolConfig() {
         JedisPoolConfig poolConfig = new JedisPoolConfig();
-        poolConfig.setMaxTotal(10);
-        poolConfig.setMaxIdle(5);
-        poolConfig.setMinIdle(1);
-        
+        applyPoolProperties(poolConfig);
+        return poolConfig;
+    }
+
+    /**
+     * Apply the pool sizing, eviction and wait properties to a pool configuration.
+     */
+    /**
+     * The pool properties, as part of the key of a shared pool.
+     */
+    private List<Object> getPoolSettings() {
+        GenericObjectPoolConfig<?> poolConfig = createPoolConfig();
+        return Arrays.asList(poolConfig.getMaxTotal(), poolConfig.getMaxIdle(), poolConfig.getMinIdle(),
+            poolConfig.getBlockWhenExhausted(), poolConfig.getMaxWaitDuration(), poolConfig.getTestOnBorrow(),
+            poolConfig.getTestWhileIdle(), poolConfig.getDurationBetweenEvictionRuns(),
+            poolConfig.getMinEvictableIdleDuration());
+    }
+
+    private void applyPoolProperties(GenericObjectPoolConfig<?> poolConfig) {
+        poolConfig.setMaxTotal(Integer.parseInt(properties.getProperty("maxTotal", "10")));
+        poolConfig.setMaxIdle(Integer.parseInt(properties.getProperty("maxIdle", "5")));
+        poolConfig.setMinIdle(Integer.parseInt(properties.getProperty("minIdle", "1")));
+        poolConfig.setBlockWhenExhausted(Boolean.parseBoolean(properties.getProperty("blockWhenExhausted", "true")));
+        poolConfig.setMaxWait(Duration.ofMillis(Long.parseLong(properties.getProperty("maxWaitMillis", "-1"))));
+        poolConfig.setTestOnBorrow(Boolean.parseBoolean(properties.getProperty("testOnBorrow", "false")));
+        poolConfig.setTestWhileIdle(Boolean.parseBoolean(properties.getProperty("testWhileIdle", "true")));
+        poolConfig.setTimeBetweenEvictionRuns(
+            Duration.ofMillis(Long.parseLong(properties.getProperty("timeBetweenEvictionRunsMillis", "30000"))));
+        poolConfig.setMinEvictableIdleTime(
+            Duration.ofMillis(Long.parseLong(properties.getProperty("minEvictableIdleTimeMillis", "60000"))));
+    }
+
+    /**
+     * Client settings applied by Jedis once per physical socket when it is opened:
+     * AUTH (ACL-style when a username is known), SELECT and CLIENT SETNAME.
+     * Borrowing an already open socket from a pool therefore costs no extra round-trip.
+     */
+    private DefaultJedisClientConfig buildClientConfig(int database) {
+        return clientConfigBuilder(database).build();
+    }
+
+    private DefaultJedisClientConfig.Builder clientConfigBuilder(int database) {
         int timeout = Integer.parseInt(properties.getProperty("connectionTimeout", "2000"));
         int socketTimeout = Integer.parseInt(properties.getProperty("socketTimeout", "2000"));
         int blockingSocketTimeout = Integer.parseInt(properties.getProperty("blockingSocketTimeout", "0"));
         
-        String password = effectivePassword;
-        int database = connectionInfo.getDatabase();
-        
-        jedisPool = new JedisPool(poolConfig, 
-            connectionInfo.getHost(), 
-            connectionInfo.getPort(), 
-            timeout, 
-            password, 
-            database, 
-            connectionInfo.getClientName());
+        DefaultJedisClientConfig.Builder builder = DefaultJedisClientConfig.builder()
+            .connectionTimeoutMillis(timeout)
+            .socketTimeoutMillis(socketTimeout)
+            .blockingSocketTimeoutMillis(blockingSocketTimeout)
+            .database(database)
+            .clientName(connectionInfo.getClientName());
+        if (jdbcUserCredentials != null) {
+            builder.credentialsProvider(jdbcUserCredentials);
+        } else {
+            builder.user(effectivePassword != null ? effectiveUsername : null).password(effectivePassword);
+        }
+        return applySsl(builder);
+    }
+
+    /**
+     * Enable TLS when the {@code ssl} property is set. All sockets share one SSLContext,
+     * so new pooled sockets resume an earlier session instead of a full handshake;
+     * {@code verifyServerCertificate=false} accepts any certificate and host name.
+     * Unix socket URLs are never wrapped in TLS.
+     */
+    private DefaultJedisClientConfig.Builder applySsl(DefaultJedisClientConfig.Builder builder) {
+        if (!Boolean.parseBoolean(properties.getProperty("ssl", "false"))) {
+            return builder;
+        }
+        boolean verify = Boolean.parseBoolean(properties.getProperty("verifyServerCertificate", "true"));
+        return builder
+            .ssl(true)
+            .sslSocketFactory(RedisTls.socketFactory(verify))
+            .sslParameters(RedisTls.parameters(verify));
     }
 
     private void initializeClusterConnection() {
-        // For cluster, we'll use a simple approach with the first host
-        // In a real implementation, you'd parse all cluster nodes
-        JedisPoolConfig poolConfig = new JedisPoolConfig();
-        poolConfig.setMaxTotal(10);
-        poolConfig.setMaxIdle(5);
-        poolConfig.setMinIdle(1);
-        
-        int timeout = Integer.parseInt(properties.getProperty("connectionTimeout", "2000"));
-        int socketTimeout = Integer.parseInt(properties.getProperty("socketTimeout", "2000"));
+        // One connection pool per node; the provider keeps the slot-to-node map
+        // and is refreshed from CLUSTER SLOTS on MOVED redirections
+        GenericObjectPoolConfig<redis.clients.jedis.Connection> poolConfig = new GenericObjectPoolConfig<>();
+        applyPoolProperties(poolConfig);
         
-        String password = effectivePassword;
-        
-        jedisPool = new JedisPool(poolConfig, 
-            connectionInfo.getHost(), 
-            connectionInfo.getPort(), 
-            timeout, 
-            password, 
-            0, // Cluster doesn't use database numbers
-            connectionInfo.getClientName());
+        clusterProvider = withAuthFallback(() -> new ClusterConnectionProvider(
+            new HashSet<>(connectionInfo.getNodes()),
+            buildClientConfig(0), // Cluster doesn't use database numbers
+            poolConfig));
     }
 
     private RedisConnectionInfo parseConnectionUrl(String url) throws SQLException {
+        if (url.startsWith("jdbc:redis+unix://")) {
+            return parseUnixSocketUrl(url, properties);
+        }
         try {
-            // Remove jdbc:redis:// or jdbc:redis:cluster:// prefix
-            String cleanUrl = url.replaceFirst("jdbc:redis://", "").replaceFirst("jdbc:redis:cluster://", "");
+            // Remove jdbc:redis://, jdbc:redis:cluster:// or jdbc:redis:sentinel:// prefix
+            boolean sentinel = url.startsWith("jdbc:redis:sentinel://");
+            String cleanUrl = url.replaceFirst("jdbc:redis://", "").replaceFirst("jdbc:redis:cluster://", "")
+                .replaceFirst("jdbc:redis:sentinel://", "");
             
             // Parse authentication
             String username = null;
@@ -131,21 +418,36 @@ public class RedisConnection implements Connection {
                 }
             }
             
-            // Parse host and port
-            String host = "localhost";
-            int port = 6379;
-            
-            if (cleanUrl.contains("/")) {
-                String[] parts = cleanUrl.split("/", 2);
-                String hostPort = parts[0];
-                
+            // Parse host and port; cluster URLs may list several comma-separated seed nodes
+            String hostList = cleanUrl.split("/", 2)[0].split("\\?", 2)[0];
+            List<HostAndPort> nodes = new ArrayList<>();
+            for (String hostPort : hostList.split(",")) {
+                hostPort = hostPort.trim();
+                if (hostPort.isEmpty()) {
+                    continue;
+                }
                 if (hostPort.contains(":")) {
                     String[] hostPortParts = hostPort.split(":", 2);
-                    host = hostPortParts[0];
-                    port = Integer.parseInt(hostPortParts[1]);
+                    nodes.add(new HostAndPort(hostPortParts[0], Integer.parseInt(hostPortParts[1])));
                 } else {
-                    host = hostPort;
+                    nodes.add(new HostAndPort(hostPort, sentinel ? 26379 : 6379));
+                }
+            }
+            if (nodes.isEmpty()) {
+                nodes.add(new HostAndPort("localhost", sentinel ? 26379 : 6379));
+            }
+            String host = nodes.get(0).getHost();
+            int port = nodes.get(0).getPort();
+            
+            // Sentinel URLs name the monitored master before the database: /masterName[/database]
+            String masterName = null;
+            if (sentinel) {
+                String[] parts = cleanUrl.split("/", 3);
+                masterName = parts.length > 1 ? parts[1].split("\\?")[0] : "";
+                if (masterName.isEmpty()) {
+                    throw new IllegalArgumentException("Sentinel URL must name the master");
                 }
+                cleanUrl = parts[0] + (parts.length > 2 ? "/" + parts[2] : "");
             }
             
             // Parse database number
@@ -165,13 +467,73 @@ public class RedisConnection implements Connection {
             // Parse query parameters
             String clientName = properties.getProperty("clientName");
             
-            return new RedisConnectionInfo(host, port, database, username, password, clientName);
+            return new RedisConnectionInfo(host, port, database, username, password, clientName, nodes, masterName);
             
         } catch (Exception e) {
             throw new SQLException("Invalid Redis URL format: " + url, e);
         }
     }
 
+    /**
+     * Parse {@code jdbc:redis+unix://[username:password@]/path/to/redis.sock[?database=N]}.
+     * The whole path names the socket file, so the database is taken from the {@code database}
+     * query parameter, or else the {@code database} property. The one exception is a numeric
+     * last segment below an existing file ({@code /var/run/redis.sock/0}), which can only
+     * be a database number.
+     */
+    static RedisConnectionInfo parseUnixSocketUrl(String url, Properties properties) throws SQLException {
+        String[] pathAndQuery = url.substring("jdbc:redis+unix://".length()).split("\\?", 2);
+        String cleanUrl = pathAndQuery[0];
+        
+        String username = null;
+        String password = null;
+        // Credentials end where the absolute socket path starts, so passwords may contain '@'
+        int at = cleanUrl.indexOf("@/");
+        if (at >= 0 && !cleanUrl.startsWith("/")) {
+            String authPart = cleanUrl.substring(0, at);
+            cleanUrl = cleanUrl.substring(at + 1);
+            if (authPart.contains(":")) {
+                String[] authParts = authPart.split(":", 2);
+                username = authParts[0];
+                password = authParts[1];
+            } else {
+                password = authPart;
+            }
+        }
+        
+        if (!cleanUrl.startsWith("/") || cleanUrl.length() < 2) {
+            throw new SQLException("Invalid Redis URL format, expected an absolute socket path: " + url);
+        }
+        
+        String database = properties.getProperty("database", "0");
+        // "/var/run/redis.sock/0": a path below a file cannot exist, so the digits are the database
+        int slash = cleanUrl.lastIndexOf('/');
+        String lastSegment = cleanUrl.substring(slash + 1);
+        if (slash > 0 && !lastSegment.isEmpty() && lastSegment.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            File socket = new File(cleanUrl.substring(0, slash));
+            if (socket.exists() && !socket.isDirectory()) {
+                cleanUrl = socket.getPath();
+                database = lastSegment;
+            }
+        }
+        if (pathAndQuery.length > 1) {
+            for (String parameter : pathAndQuery[1].split("&")) {
+                if (parameter.startsWith("database=")) {
+                    database = parameter.substring("database=".length());
+                }
+            }
+        }
+        int db;
+        try {
+            db = Integer.parseInt(database);
+        } catch (NumberFormatException e) {
+            throw new SQLException("Invalid database number in Redis URL: " + url, e);
+        }
+        
+        return new RedisConnectionInfo("localhost", 0, db, username, password,
+            properties.getProperty("clientName"), Collections.emptyList(), null, cleanUrl);
+    }
+
     @Override
     public Statement createStatement() throws SQLException {
         checkClosed();
@@ -222,11 +584,30 @@ public class RedisConnection implements Connection {
     @Override
     public void close() throws SQLException {
         if (!closed) {
-            if (jedisPool != null && !jedisPool.isClosed()) {
+            synchronized (this) {
+                if (asyncExecutor != null) {
+                    asyncExecutor.shutdown();
+                }
+            }
+            if (nearCache != null) {
+                nearCache.close();
+            }
+            synchronized (this) {
+                // A shared router is closed by the registry together with its pool
+                if (replicaRouter != null && sharedPoolKey == null) {
+                    replicaRouter.close();
+                }
+            }
+            if (dedicatedJedis != null) {
+                dedicatedJedis.release();
+            }
+            if (sharedPoolKey != null) {
+                RedisPoolRegistry.release(sharedPoolKey);
+            } else if (jedisPool != null && !jedisPool.isClosed()) {
                 jedisPool.close();
             }
-            if (jedisCluster != null) {
-                jedisCluster.close();
+            if (clusterProvider != null) {
+                clusterProvider.close();
             }
             closed = true;
         }
@@ -246,13 +627,14 @@ public class RedisConnection implements Connection {
     @Override
     public void setReadOnly(boolean readOnly) throws SQLException {
         checkClosed();
-        // Redis connections are always read-write
+        // Writes still go to the primary; reads prefer replicas (see getReadJedis)
+        this.readOnly = readOnly;
     }
 
     @Override
     public boolean isReadOnly() throws SQLException {
         checkClosed();
-        return false;
+        return readOnly;
     }
 
     @Override
@@ -417,6 +799,10 @@ public class RedisConnection implements Connection {
         if (closed) {
             return false;
         }
+        if (isTransactionOpen()) {
+            // A PING would be queued into the user's transaction and answered by EXEC
+            return dedicatedJedis.isConnected() && !dedicatedJedis.getConnection().isBroken();
+        }
         
         try (Jedis jedis = getJedis()) {
             return "PONG".equals(jedis.ping());
@@ -505,28 +891,224 @@ public class RedisConnection implements Connection {
 
     public Jedis getJedis() throws SQLException {
         checkClosed();
+        if (clusterProvider != null) {
+            return new Jedis(clusterProvider.getConnection());
+        }
+        if (dedicatedJedis != null) {
+            if (dedicatedJedis.getConnection().isBroken() || !dedicatedJedis.isConnected()) {
+                // The socket died, or with Sentinel its server was demoted; session state is lost
+                // either way, so start over with a fresh socket to the current primary
+                dedicatedJedis.release();
+                try {
+                    dedicatedJedis = createDedicatedJedis();
+                } catch (JedisException e) {
+                    // Keep the released one, which is retried on the next call
+                    throw new SQLException("Failed to reconnect to Redis: " + e.getMessage(), e);
+                }
+            }
+            return dedicatedJedis;
+        }
         if (jedisPool == null) {
             throw new SQLException("Redis connection not initialized");
         }
-        Jedis jedis = jedisPool.getResource();
-        
-        // Handle authentication if credentials are provided
-        if (effectiveUsername != null && effectivePassword != null) {
-            // ACL-style authentication (Redis 6.0+)
-            try {
-                jedis.auth(effectiveUsername, effectivePassword);
-            } catch (Exception ignored) {
-                // If already authenticated or server doesn't support ACL-style auth, ignore
+        // Authentication already happened when the pooled socket was created
+        return jedisPool.getResource();
+    }
+
+    /**
+     * Get a connection for a command on the given key. In cluster mode the key is
+     * hashed to its slot and the connection is taken from the node owning that slot;
+     * keyless commands (null key) go to an arbitrary node.
+     */
+    public Jedis getJedis(String key) throws SQLException {
+        if (clusterProvider == null || key == null) {
+            return getJedis();
+        }
+        checkClosed();
+        int slot = JedisClusterCRC16.getSlot(key);
+        HostAndPort node = clusterProvider.getNode(slot);
+        if (node == null) {
+            // Unassigned slot: the provider reloads the slots and falls back to any node
+            return new Jedis(clusterProvider.getConnectionFromSlot(slot));
+        }
+        return new NodeJedis(clusterProvider.getConnection(node), node);
+    }
+
+    /**
+     * Get a connection for a read-only command on the given key. With {@code readFrom}
+     * or a read-only connection, standalone pooled connections route the read between the
+     * primary and its replicas; {@code setReadOnly(true)} alone prefers replicas. Otherwise
+     * this is {@link #getJedis(String)}.
+     */
+    public Jedis getReadJedis(String key) throws SQLException {
+        RedisReplicaRouter.ReadFrom mode = getReadMode();
+        if (mode == RedisReplicaRouter.ReadFrom.PRIMARY || jedisPool == null) {
+            return getJedis(key);
+        }
+        checkClosed();
+        return getReplicaRouter().getReadJedis(mode);
+    }
+
+    /**
+     * Choose the node that all windows of a cursor read from, so that they see the same
+     * server (a SCAN cursor is only valid on the node that returned it). Returns null when
+     * reads are not routed and {@link #getReadJedis(String)} always uses the same node.
+     */
+    public Pool<Jedis> getReadPool() throws SQLException {
+        RedisReplicaRouter.ReadFrom mode = getReadMode();
+        if (mode == RedisReplicaRouter.ReadFrom.PRIMARY || jedisPool == null) {
+            return null;
+        }
+        checkClosed();
+        return getReplicaRouter().getReadPool(mode);
+    }
+
+    /**
+     * Whether read-only commands may go to another node than the primary, see {@link #getReadJedis(String)}.
+     */
+    boolean isReadRouted() {
+        return getReadMode() != RedisReplicaRouter.ReadFrom.PRIMARY && jedisPool != null;
+    }
+
+    /**
+     * The pool of the primary, or null in cluster and dedicated connection mode.
+     */
+    Pool<Jedis> getPrimaryPool() {
+        return jedisPool;
+    }
+
+    private RedisReplicaRouter.ReadFrom getReadMode() {
+        if (readOnly && readFrom == RedisReplicaRouter.ReadFrom.PRIMARY) {
+            return RedisReplicaRouter.ReadFrom.REPLICA_PREFERRED;
+        }
+        return readFrom;
+    }
+
+    /**
+     * Get a connection for the command: {@link #getReadJedis(String)} for read-only
+     * commands, {@link #getJedis(String)} for everything else.
+     */
+    public Jedis getJedis(RedisCommand command) throws SQLException {
+        return command.isReadOnly() ? getReadJedis(command.getKey()) : getJedis(command.getKey());
+    }
+
+    private synchronized RedisReplicaRouter getReplicaRouter() {
+        if (replicaRouter == null) {
+            replicaRouter = sharedPoolKey != null
+                ? RedisPoolRegistry.acquireReplicaRouter(sharedPoolKey, this::createReplicaRouter)
+                : createReplicaRouter(jedisPool);
+        }
+        return replicaRouter;
+    }
+
+    private RedisReplicaRouter createReplicaRouter(Pool<Jedis> primary) {
+        // A shared router outlives this connection, so its pool factory must not refer to it
+        JedisPoolConfig poolConfig = createPoolConfig();
+        JdbcUserCredentials credentials = jdbcUserCredentials;
+        return new RedisReplicaRouter(primary, buildClientConfig(connectionInfo.getDatabase()),
+            (address, clientConfig) -> createPool(poolConfig, address, clientConfig, credentials));
+    }
+
+    /**
+     * Open a new, unpooled connection for control commands such as CLIENT UNBLOCK, to the
+     * given node (see {@link #getNode}); for Unix socket URLs the node is ignored. It never
+     * waits for a pool and connects and reads with at most {@link #CONTROL_TIMEOUT_MILLIS},
+     * so cancelling cannot hang on an exhausted pool or an unresponsive server; the caller
+     * closes it.
+     */
+    public Jedis openControlJedis(HostAndPort node) throws SQLException {
+        checkClosed();
+        int timeout = Math.min(CONTROL_TIMEOUT_MILLIS,
+            Integer.parseInt(properties.getProperty("connectionTimeout", "2000")));
+        DefaultJedisClientConfig config = clientConfigBuilder(connectionInfo.getDatabase())
+            .connectionTimeoutMillis(timeout)
+            .socketTimeoutMillis(timeout)
+            .build();
+        try {
+            if (connectionInfo.getSocketPath() != null) {
+                return withAuthFallback(() -> new Jedis(
+                    new RedisUnixSocketFactory(connectionInfo.getSocketPath(), timeout, timeout), config));
             }
-        } else if (effectivePassword != null) {
-            // Traditional Redis authentication (password only)
-            try {
-                jedis.auth(effectivePassword);
-            } catch (Exception ignored) {
-                // If already authenticated or server doesn't require auth, ignore
+            if (node == null) {
+                throw new SQLException("The node of the connection is not known");
+            }
+            return withAuthFallback(() -> new Jedis(node, config));
+        } catch (JedisException e) {
+            throw new SQLException("Failed to open control connection: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The node the socket of a borrowed connection was opened to, or null if it is not known
+     * (Unix sockets, and keyless commands in cluster mode).
+     */
+    public HostAndPort getNode(Jedis jedis) {
+        return jedis instanceof NodeJedis ? ((NodeJedis) jedis).getNode() : null;
+    }
+
+    /**
+     * Get a connection to a specific cluster node, e.g. the target of an ASK redirection.
+     */
+    public Jedis getJedis(HostAndPort node) throws SQLException {
+        checkClosed();
+        if (clusterProvider == null) {
+            throw new SQLException("Node-addressed connections are only available in cluster mode");
+        }
+        return new NodeJedis(clusterProvider.getConnection(node), node);
+    }
+
+    /**
+     * The cluster node currently serving the slot of the given key.
+     */
+    public HostAndPort getClusterNode(String key) {
+        return clusterProvider.getNode(JedisClusterCRC16.getSlot(key));
+    }
+
+    /**
+     * The executor for asynchronous statements, started on first use with
+     * {@code asyncThreads} worker threads.
+     */
+    public synchronized RedisAsyncExecutor getAsyncExecutor() throws SQLException {
+        checkClosed();
+        if (dedicatedJedis != null) {
+            // Workers would share the one socket with the calling threads
+            throw new SQLFeatureNotSupportedException("Asynchronous execution is not available with dedicatedConnection");
+        }
+        if (asyncExecutor == null) {
+            asyncExecutor = new RedisAsyncExecutor(this, asyncThreads);
+        }
+        return asyncExecutor;
+    }
+
+    /**
+     * Reload the slot-to-node map after the cluster reported a MOVED redirection.
+     */
+    public void renewClusterSlots() {
+        if (clusterProvider != null) {
+            clusterProvider.renewSlotCache();
+        }
+    }
+
+    /**
+     * The master nodes currently serving slots, in slot order. Keyspace-wide commands
+     * such as SCAN or FLUSHDB have to visit each of them.
+     */
+    public List<HostAndPort> getClusterMasters() {
+        Set<HostAndPort> masters = new LinkedHashSet<>();
+        for (int slot = 0; slot < Protocol.CLUSTER_HASHSLOTS; slot++) {
+            HostAndPort node = clusterProvider.getNode(slot);
+            if (node != null) {
+                masters.add(node);
             }
         }
-        return jedis;
+        return new ArrayList<>(masters);
+    }
+
+    /**
+     * Maximum MOVED/ASK redirections followed per command in cluster mode (the {@code maxRedirections} property).
+     */
+    public int getMaxRedirections() {
+        return maxRedirections;
     }
 
     public RedisConnectionInfo getConnectionInfo() {
@@ -537,6 +1119,262 @@ public class RedisConnection implements Connection {
         return isCluster;
     }
 
+    /**
+     * Parse a statement, reusing the cached parse of identical SQL text when the
+     * command cache is enabled (the {@code commandCacheSize} property).
+     */
+    public RedisCommand parseCommand(String sql) throws IllegalArgumentException {
+        return commandCache != null ? commandCache.parse(sql) : RedisCommandParser.parse(sql);
+    }
+
+    /**
+     * Whether KEYS is executed as an incremental SCAN (the {@code useScanForKeys} property).
+     */
+    public boolean isScanForKeys() {
+        return scanForKeys;
+    }
+
+    /**
+     * Whether HGETALL and SMEMBERS are streamed with HSCAN/SSCAN when a fetch size is set
+     * (the {@code useScanForCollections} property). SCAN may return an element more than once.
+     */
+    public boolean isScanForCollections() {
+        return scanForCollections;
+    }
+
+    /**
+     * Whether a MULTI is open on the dedicated socket, so that the server answers commands
+     * with QUEUED instead of their usual reply. Only a dedicated socket keeps a transaction
+     * across statements.
+     */
+    boolean isTransactionOpen() {
+        return dedicatedJedis != null && dedicatedJedis.transactionOpen;
+    }
+
+    /**
+     * Follow MULTI, EXEC, DISCARD and RESET sent on the dedicated socket.
+     *
+     * @param succeeded whether the server accepted the command
+     */
+    void trackTransaction(Jedis jedis, String commandName, boolean succeeded) {
+        if (jedis != dedicatedJedis) {
+            return;
+        }
+        switch (commandName) {
+            case "MULTI":
+                if (succeeded) {
+                    dedicatedJedis.transactionOpen = true;
+                }
+                break;
+            case "EXEC":
+            case "DISCARD":
+            case "RESET":
+                // Even a failed EXEC (EXECABORT) ends the transaction on the server
+                dedicatedJedis.transactionOpen = false;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Whether commands are sent and replies kept as raw bytes (the {@code binary} property).
+     */
+    public boolean isBinary() {
+        return binary;
+    }
+
+    /**
+     * The client-side cache of read replies, or null unless the connection was opened with
+     * {@code nearCache=true}. Exposes hit, miss, eviction and invalidation counters.
+     */
+    public RedisNearCache getNearCache() {
+        return nearCache;
+    }
+
+    /**
+     * Driver metrics to record into, or null when the connection was opened without {@code metrics=true}.
+     */
+    RedisMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * COUNT hint sent with each SCAN step (the {@code scanCount} property).
+     */
+    public int getScanCount() {
+        return scanCount;
+    }
+
+    /**
+     * A Jedis that remembers the node its socket was opened to, so that control commands
+     * such as CLIENT UNBLOCK can reach the same server; see {@link #getNode}.
+     */
+    static class NodeJedis extends Jedis {
+
+        private final HostAndPort node;
+
+        NodeJedis(JedisSocketFactory socketFactory, JedisClientConfig clientConfig, HostAndPort node) {
+            super(socketFactory, clientConfig);
+            this.node = node;
+        }
+
+        NodeJedis(redis.clients.jedis.Connection connection, HostAndPort node) {
+            super(connection);
+            this.node = node;
+        }
+
+        HostAndPort getNode() {
+            return node;
+        }
+    }
+
+    /**
+     * The single socket owned by a connection in dedicated mode. Statements close
+     * the Jedis they borrow after each command, so {@link #close()} keeps the socket
+     * open; it is only released when the JDBC connection is closed.
+     */
+    private static final class DedicatedJedis extends NodeJedis {
+
+        /** Set between a successful MULTI and the EXEC, DISCARD or RESET that ends it. */
+        private boolean transactionOpen;
+
+        private DedicatedJedis(HostAndPort hostAndPort, DefaultJedisClientConfig clientConfig) {
+            super(new DefaultJedisSocketFactory(hostAndPort, clientConfig), clientConfig, hostAndPort);
+        }
+
+        private DedicatedJedis(JedisSocketFactory socketFactory, DefaultJedisClientConfig clientConfig) {
+            super(socketFactory, clientConfig, null);
+        }
+
+        private DedicatedJedis(redis.clients.jedis.Connection connection, HostAndPort hostAndPort) {
+            super(connection, hostAndPort);
+        }
+
+        @Override
+        public void close() {
+            // Kept open for the lifetime of the RedisConnection
+        }
+
+        private void release() {
+            super.close();
+        }
+    }
+
+    /**
+     * Socket of a dedicated connection to the master of a Sentinel URL. After a failover the
+     * old master usually stays up as a replica and rejects writes with READONLY instead of
+     * dropping the socket, so that error marks the socket broken and the next
+     * {@link #getJedis()} asks the sentinels for the new master.
+     */
+    private static final class SentinelMasterConnection extends redis.clients.jedis.Connection {
+
+        private SentinelMasterConnection(HostAndPort hostAndPort, DefaultJedisClientConfig clientConfig) {
+            super(hostAndPort, clientConfig);
+        }
+
+        @Override
+        protected Object readProtocolWithCheckingBroken() {
+            try {
+                return super.readProtocolWithCheckingBroken();
+            } catch (JedisDataException e) {
+                if (e.getMessage() != null && e.getMessage().startsWith("READONLY")) {
+                    setBroken();
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Credentials for a connection whose only user name is the generic JDBC {@code user},
+     * shared by all its sockets. They authenticate as that ACL user until the server rejects
+     * it, as requirepass-only servers (WRONGPASS) and servers older than Redis 6 (wrong number
+     * of arguments) do; sockets opened after that authenticate with the password alone.
+     */
+    static final class JdbcUserCredentials implements RedisCredentialsProvider {
+
+        private final String user;
+        private final String password;
+        private volatile boolean passwordOnly;
+
+        JdbcUserCredentials(String user, String password) {
+            this.user = user;
+            this.password = password;
+        }
+
+        String getUser() {
+            return user;
+        }
+
+        @Override
+        public RedisCredentials get() {
+            return new DefaultRedisCredentials(passwordOnly ? null : user, password);
+        }
+
+        /**
+         * Switch to password-only AUTH if the given error from opening a socket is the server
+         * rejecting the user, and return whether the socket should be opened again.
+         */
+        boolean fallBack(JedisException e) {
+            if (passwordOnly || !rejectsUser(e)) {
+                return false;
+            }
+            passwordOnly = true;
+            return true;
+        }
+
+        private static boolean rejectsUser(Throwable e) {
+            if (e instanceof JedisDataException && e.getMessage() != null
+                && (e.getMessage().startsWith("WRONGPASS")
+                    || e.getMessage().contains("wrong number of arguments for 'auth'"))) {
+                return true;
+            }
+            // Cluster initialization reports the seed nodes' errors as suppressed exceptions
+            for (Throwable suppressed : e.getSuppressed()) {
+                if (rejectsUser(suppressed)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Pool factory that opens each socket with {@link #withAuthFallback} and records the node
+     * it was opened to. A Sentinel pool re-points the socket factory at each new master. It
+     * only holds what opening a socket needs, since a shared pool outlives the connection
+     * that created it.
+     */
+    private static final class AuthFallbackJedisFactory extends JedisFactory {
+
+        private final JedisSocketFactory socketFactory;
+        private final DefaultJedisClientConfig clientConfig;
+        private final JdbcUserCredentials credentials;
+
+        private AuthFallbackJedisFactory(HostAndPort hostAndPort, DefaultJedisClientConfig clientConfig,
+                                         JdbcUserCredentials credentials) {
+            this(new DefaultJedisSocketFactory(hostAndPort, clientConfig), clientConfig, credentials);
+        }
+
+        private AuthFallbackJedisFactory(JedisSocketFactory socketFactory, DefaultJedisClientConfig clientConfig,
+                                         JdbcUserCredentials credentials) {
+            super(socketFactory, clientConfig);
+            this.socketFactory = socketFactory;
+            this.clientConfig = clientConfig;
+            this.credentials = credentials;
+        }
+
+        @Override
+        public PooledObject<Jedis> makeObject() {
+            return new DefaultPooledObject<>(withAuthFallback(credentials, () -> {
+                HostAndPort node = socketFactory instanceof DefaultJedisSocketFactory
+                    ? ((DefaultJedisSocketFactory) socketFactory).getHostAndPort() : null;
+                return new NodeJedis(socketFactory, clientConfig, node);
+            }));
+        }
+    }
+
     /**
      * Inner class to hold Redis connection information
      */
@@ -547,14 +1385,39 @@ public class RedisConnection implements Connection {
         private final String username;
         private final String password;
         private final String clientName;
+        private final List<HostAndPort> nodes;
+        private final String masterName;
+        private final String socketPath;
 
         public RedisConnectionInfo(String host, int port, int database, String username, String password, String clientName) {
+            this(host, port, database, username, password, clientName,
+                Collections.singletonList(new HostAndPort(host, port)));
+        }
+
+        public RedisConnectionInfo(String host, int port, int database, String username, String password, String clientName,
+                                   List<HostAndPort> nodes) {
+            this(host, port, database, username, password, clientName, nodes, null);
+        }
+
+        public RedisConnectionInfo(String host, int port, int database, String username, String password, String clientName,
+                                   List<HostAndPort> nodes, String masterName) {
+            this(host, port, database, username, password, clientName, nodes, masterName, null);
+        }
+
+        /**
+         * @param socketPath Unix domain socket path for {@code jdbc:redis+unix://} URLs, otherwise null
+         */
+        public RedisConnectionInfo(String host, int port, int database, String username, String password, String clientName,
+                                   List<HostAndPort> nodes, String masterName, String socketPath) {
             this.host = host;
             this.port = port;
             this.database = database;
             this.username = username;
             this.password = password;
             this.clientName = clientName;
+            this.nodes = nodes;
+            this.masterName = masterName;
+            this.socketPath = socketPath;
         }
 
         public String getHost() { return host; }
@@ -563,5 +1426,8 @@ public class RedisConnection implements Connection {
         public String getUsername() { return username; }
         public String getPassword() { return password; }
         public String getClientName() { return clientName; }
+        public List<HostAndPort> getNodes() { return nodes; }
+        public String getMasterName() { return masterName; }
+        public String getSocketPath() { return socketPath; }
     }
 }
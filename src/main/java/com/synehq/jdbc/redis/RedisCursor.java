@@ -0,0 +1,23 @@
+package com.synehq.jdbc.redis;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Incremental source of reply items for a streaming {@link RedisResultSet}.
+ * Each call to {@link #fetchNext()} performs at most one round-trip to Redis,
+ * so only the current batch of a large reply is held in memory.
+ */
+public interface RedisCursor {
+
+    /**
+     * Fetch the next batch of reply items. The batch may be empty while
+     * {@link #hasMore()} is still true (e.g. a SCAN step without matches).
+     */
+    List<?> fetchNext() throws SQLException;
+
+    /**
+     * Whether a further call to {@link #fetchNext()} may return items.
+     */
+    boolean hasMore();
+}
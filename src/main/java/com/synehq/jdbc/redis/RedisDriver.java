@@ -38,7 +38,8 @@ public class RedisDriver implements Driver {
 
     @Override
     public boolean acceptsURL(String url) throws SQLException {
-        return url != null && (url.startsWith("jdbc:redis://") || url.startsWith("jdbc:redis:cluster://"));
+        return url != null && (url.startsWith("jdbc:redis://") || url.startsWith("jdbc:redis:cluster://")
+            || url.startsWith("jdbc:redis:sentinel://") || url.startsWith("jdbc:redis+unix://"));
     }
 
     @Override
@@ -50,11 +51,35 @@ public class RedisDriver implements Driver {
             createPropertyInfo("connectionTimeout", "Connection timeout in milliseconds", "2000"),
             createPropertyInfo("socketTimeout", "Socket timeout in milliseconds", "2000"),
             createPropertyInfo("blockingSocketTimeout", "Blocking socket timeout in milliseconds", "0"),
+            createPropertyInfo("sentinelUser", "Username for authenticating to the sentinels", null),
+            createPropertyInfo("sentinelPassword", "Password for authenticating to the sentinels", null),
             createPropertyInfo("clientName", "Client name for Redis connection", null),
             createPropertyInfo("ssl", "Enable SSL connection", "false"),
             createPropertyInfo("verifyServerCertificate", "Verify server certificate", "true"),
             createPropertyInfo("hostAndPortMapping", "Host and port mapping for port forwarding", null),
-            createPropertyInfo("verifyConnectionMode", "Verify connection mode", "true")
+            createPropertyInfo("verifyConnectionMode", "Verify connection mode", "true"),
+            createPropertyInfo("useScanForKeys", "Execute KEYS as an incremental, non-blocking SCAN", "false"),
+            createPropertyInfo("scanCount", "COUNT hint for each SCAN step", "1000"),
+            createPropertyInfo("useScanForCollections", "Stream HGETALL and SMEMBERS with HSCAN/SSCAN when a fetch size is set", "false"),
+            createPropertyInfo("maxRedirections", "Maximum MOVED redirections followed per command in cluster mode", "5"),
+            createPropertyInfo("maxTotal", "Maximum number of pooled connections", "10"),
+            createPropertyInfo("maxIdle", "Maximum number of idle pooled connections", "5"),
+            createPropertyInfo("minIdle", "Minimum number of idle pooled connections", "1"),
+            createPropertyInfo("maxWaitMillis", "Maximum time to wait for a pooled connection (-1 waits indefinitely)", "-1"),
+            createPropertyInfo("blockWhenExhausted", "Wait for a connection when the pool is exhausted instead of failing", "true"),
+            createPropertyInfo("testOnBorrow", "Validate pooled connections with PING before use", "false"),
+            createPropertyInfo("testWhileIdle", "Validate idle pooled connections during eviction runs", "true"),
+            createPropertyInfo("timeBetweenEvictionRunsMillis", "Interval between idle connection eviction runs", "30000"),
+            createPropertyInfo("minEvictableIdleTimeMillis", "Minimum idle time before a pooled connection may be evicted", "60000"),
+            createPropertyInfo("sharedPool", "Share one pool between connections with the same host, port, database, credentials and client settings", "false"),
+            createPropertyInfo("binary", "Send commands and return bulk replies as raw bytes; strings are only decoded by getString()", "false"),
+            createPropertyInfo("asyncThreads", "Worker threads, each with its own pipelined connection, for asynchronous statements", "2"),
+            createPropertyInfo("metrics", "Record command latency, bytes, pool wait, errors and row counts (JMX com.synehq.jdbc.redis:type=Metrics)", "false"),
+            createPropertyInfo("nearCache", "Cache GET, HGET, HGETALL, SMEMBERS and ZRANGE replies locally, invalidated through CLIENT TRACKING", "false"),
+            createPropertyInfo("nearCacheSize", "Maximum number of keys held in the near cache", "10000"),
+            createPropertyInfo("readFrom", "Where read commands are sent: primary, primaryPreferred, replica, replicaPreferred or nearest", "primary"),
+            createPropertyInfo("commandCacheSize", "Number of parsed statements cached per connection (0 disables the cache)", "256"),
+            createPropertyInfo("dedicatedConnection", "Use one socket for the lifetime of the connection instead of a pool, so session state (SELECT, CLIENT SETNAME, MULTI, WATCH) is kept", "false")
         };
     }
 
@@ -82,6 +107,6 @@ public class RedisDriver implements Driver {
 
     @Override
     public Logger getParentLogger() throws SQLFeatureNotSupportedException {
-        throw new SQLFeatureNotSupportedException("Redis driver does not support parent logger");
+        return Logger.getLogger("com.synehq.jdbc.redis");
     }
 }
@@ -0,0 +1,307 @@
+package com.synehq.jdbc.redis;
+
+import redis.clients.jedis.resps.StreamEntry;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Driver-wide command metrics: per-command latency histograms, bytes in and out,
+ * pool wait time, errors and result row counts. Only connections opened with
+ * {@code metrics=true} record into it; the first such connection registers the
+ * MXBean. Connections without the property pay a single null check per command.
+ */
+public final class RedisMetrics implements RedisMetricsMXBean {
+
+    public static final String OBJECT_NAME = "com.synehq.jdbc.redis:type=Metrics";
+
+    private static final Logger LOGGER = Logger.getLogger(RedisMetrics.class.getName());
+    private static final RedisMetrics INSTANCE = new RedisMetrics();
+
+    private final ConcurrentMap<String, CommandMetrics> commands = new ConcurrentHashMap<>();
+    private final List<RedisMetricsListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean registered = false;
+
+    private RedisMetrics() {
+    }
+
+    public static RedisMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the metrics for a connection that enabled them, registering the MXBean on first use.
+     */
+    static RedisMetrics enable() {
+        if (!INSTANCE.registered) {
+            synchronized (INSTANCE) {
+                if (!INSTANCE.registered) {
+                    INSTANCE.register();
+                    INSTANCE.registered = true;
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    private void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException | SecurityException e) {
+            // Metrics are still recorded and delivered to listeners
+            LOGGER.log(Level.WARNING, "Failed to register Redis driver metrics MXBean", e);
+        }
+    }
+
+    public void addListener(RedisMetricsListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(RedisMetricsListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Record one completed command.
+     *
+     * @param rows rows in the result set, or a negative value when unknown
+     */
+    void record(String command, long latencyNanos, long poolWaitNanos, long bytesOut, long bytesIn,
+                int rows, SQLException error) {
+        CommandMetrics metrics = commands.get(command);
+        if (metrics == null) {
+            metrics = commands.computeIfAbsent(command, name -> new CommandMetrics());
+        }
+        metrics.record(latencyNanos, poolWaitNanos, bytesOut, bytesIn, rows, error != null);
+
+        for (RedisMetricsListener listener : listeners) {
+            try {
+                listener.commandCompleted(command, latencyNanos, poolWaitNanos, bytesOut, bytesIn, rows, error);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Redis metrics listener failed", e);
+            }
+        }
+    }
+
+    @Override
+    public long getCommandCount() {
+        long total = 0;
+        for (CommandMetrics metrics : commands.values()) {
+            total += metrics.count.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public long getErrorCount() {
+        long total = 0;
+        for (CommandMetrics metrics : commands.values()) {
+            total += metrics.errors.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public long getBytesIn() {
+        long total = 0;
+        for (CommandMetrics metrics : commands.values()) {
+            total += metrics.bytesIn.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public long getBytesOut() {
+        long total = 0;
+        for (CommandMetrics metrics : commands.values()) {
+            total += metrics.bytesOut.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public long getPoolWaitMillis() {
+        long total = 0;
+        for (CommandMetrics metrics : commands.values()) {
+            total += metrics.poolWaitNanos.sum();
+        }
+        return total / 1_000_000;
+    }
+
+    @Override
+    public List<RedisCommandStatistics> getCommandStatistics() {
+        List<RedisCommandStatistics> statistics = new ArrayList<>(commands.size());
+        for (Map.Entry<String, CommandMetrics> entry : commands.entrySet()) {
+            statistics.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        statistics.sort((a, b) -> a.getCommand().compareTo(b.getCommand()));
+        return statistics;
+    }
+
+    /**
+     * Statistics for one command name, or null if it has not been recorded.
+     */
+    public RedisCommandStatistics getCommandStatistics(String command) {
+        CommandMetrics metrics = commands.get(command);
+        return metrics != null ? metrics.snapshot(command) : null;
+    }
+
+    @Override
+    public void reset() {
+        commands.clear();
+    }
+
+    /**
+     * Approximate RESP size of a request: the array header plus one bulk string per token.
+     */
+    static long requestSize(RedisCommand command) {
+        String[] args = command.getArgs();
+        long size = header(args.length + 1) + bulk(command.getCommand().length());
+        if (command.isBinary()) {
+            for (byte[] arg : command.getBinaryArgs()) {
+                size += bulk(arg.length);
+            }
+        } else {
+            for (String arg : args) {
+                size += bulk(arg.length());
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Approximate RESP size of a reply as decoded by Jedis. String lengths are
+     * counted in characters, so non-ASCII text is slightly undercounted.
+     */
+    static long replySize(Object reply) {
+        if (reply == null) {
+            return 5;
+        }
+        if (reply instanceof byte[]) {
+            return bulk(((byte[]) reply).length);
+        }
+        if (reply instanceof String) {
+            return bulk(((String) reply).length());
+        }
+        if (reply instanceof Long || reply instanceof Integer) {
+            return 3 + digits(((Number) reply).longValue());
+        }
+        if (reply instanceof List) {
+            List<?> list = (List<?>) reply;
+            long size = header(list.size());
+            for (Object item : list) {
+                size += replySize(item);
+            }
+            return size;
+        }
+        if (reply instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) reply;
+            long size = header(map.size() * 2);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += replySize(entry.getKey()) + replySize(entry.getValue());
+            }
+            return size;
+        }
+        if (reply instanceof StreamEntry) {
+            StreamEntry entry = (StreamEntry) reply;
+            return header(2) + bulk(entry.getID().toString().length()) + replySize(entry.getFields());
+        }
+        return bulk(reply.toString().getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static long header(int elements) {
+        return 3 + digits(elements);
+    }
+
+    private static long bulk(int length) {
+        return 5 + digits(length) + length;
+    }
+
+    private static int digits(long value) {
+        return Long.toString(value).length();
+    }
+
+    /**
+     * Counters and a latency histogram for one command name. Bucket {@code b} counts
+     * latencies below {@code 2^b} microseconds and at least {@code 2^(b-1)}.
+     */
+    private static final class CommandMetrics {
+        private static final int BUCKETS = 40;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+        private final LongAdder poolWaitNanos = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        private void record(long latency, long poolWait, long out, long in, int rowCount, boolean failed) {
+            count.increment();
+            if (failed) {
+                errors.increment();
+            }
+            if (rowCount > 0) {
+                rows.add(rowCount);
+            }
+            bytesIn.add(in);
+            bytesOut.add(out);
+            poolWaitNanos.add(poolWait);
+            latencyNanos.add(latency);
+            maxNanos.accumulate(latency);
+
+            long micros = latency / 1000;
+            int bucket = 64 - Long.numberOfLeadingZeros(micros);
+            histogram.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+        }
+
+        private RedisCommandStatistics snapshot(String command) {
+            long total = count.sum();
+            return new RedisCommandStatistics(command, total, errors.sum(), rows.sum(), bytesIn.sum(), bytesOut.sum(),
+                poolWaitNanos.sum() / 1000, total > 0 ? latencyNanos.sum() / total / 1000 : 0,
+                percentile(0.50), percentile(0.99), maxNanos.get() / 1000);
+        }
+
+        private long percentile(double fraction) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram.get(i);
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * fraction);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return 1L << i;
+                }
+            }
+            return 1L << (BUCKETS - 1);
+        }
+    }
+}
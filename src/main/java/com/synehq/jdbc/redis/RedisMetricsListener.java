@@ -0,0 +1,22 @@
+package com.synehq.jdbc.redis;
+
+import java.sql.SQLException;
+
+/**
+ * Callback for every command recorded by {@link RedisMetrics}. Listeners are
+ * invoked on the executing thread, so implementations should return quickly.
+ */
+public interface RedisMetricsListener {
+
+    /**
+     * @param command       command name, e.g. GET; PIPELINE for an executed batch
+     * @param latencyNanos  time from borrowing a connection until the result set was built
+     * @param poolWaitNanos part of the latency spent waiting for a pooled connection
+     * @param bytesOut      approximate RESP size of the request
+     * @param bytesIn       approximate RESP size of the reply, 0 for streamed results
+     * @param rows          rows in the result set, or -1 when streamed or failed
+     * @param error         the failure, or null when the command succeeded
+     */
+    void commandCompleted(String command, long latencyNanos, long poolWaitNanos,
+                          long bytesOut, long bytesIn, int rows, SQLException error);
+}
@@ -0,0 +1,26 @@
+package com.synehq.jdbc.redis;
+
+import java.util.List;
+
+/**
+ * JMX view of the driver metrics, registered as {@value RedisMetrics#OBJECT_NAME}.
+ */
+public interface RedisMetricsMXBean {
+
+    long getCommandCount();
+
+    long getErrorCount();
+
+    long getBytesIn();
+
+    long getBytesOut();
+
+    long getPoolWaitMillis();
+
+    /**
+     * Per-command counters and latency percentiles, ordered by command name.
+     */
+    List<RedisCommandStatistics> getCommandStatistics();
+
+    void reset();
+}
@@ -0,0 +1,484 @@
+package com.synehq.jdbc.redis;
+
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Client-side cache of read replies for one connection, kept coherent with
+ * server-assisted client tracking. Cache misses are loaded over a few loader
+ * connections with {@code CLIENT TRACKING on REDIRECT <id>}, so Redis remembers
+ * every key read through them and publishes an invalidation on
+ * {@code __redis__:invalidate} to a second, subscribed connection as soon as
+ * the key changes. Entries are grouped by Redis key, which is also the unit of
+ * LRU eviction and invalidation.
+ * <p>
+ * While the invalidation connection is down the cache is cleared and bypassed
+ * until tracking has been re-established. A server that rejects client tracking
+ * (before Redis 6, or without the permission) leaves the cache bypassed for good.
+ */
+public class RedisNearCache {
+
+    /**
+     * Returned by {@link #get} when the cache cannot serve the command and it must be executed normally.
+     */
+    static final Object BYPASS = new Object();
+
+    /**
+     * Reads a missing reply over the tracked loader connection.
+     */
+    interface Loader {
+        Object load(Jedis jedis) throws SQLException;
+    }
+
+    private static final String INVALIDATE_CHANNEL = "__redis__:invalidate";
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+    private static final int MAX_LOADERS = 4;
+    private static final Logger LOGGER = Logger.getLogger(RedisNearCache.class.getName());
+
+    private final Supplier<Jedis> connector;
+    private final Map<String, KeyEntry> entries;
+    private final Object loaderLock = new Object();
+    private final Thread listener;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private volatile boolean running = true;
+    private volatile boolean tracking = false;
+    private volatile Jedis subscriber;
+
+    // Guarded by loaderLock, which is never held during I/O
+    private final Deque<TrackedLoader> idleLoaders = new ArrayDeque<>();
+    private int openLoaders;
+    private long session;
+    private long subscriberId = -1;
+
+    /**
+     * @param connector opens a new connection to the primary; called on each (re)connect,
+     *                  so the cache follows a Sentinel failover
+     * @param maxKeys   maximum number of Redis keys with cached replies
+     */
+    public RedisNearCache(Supplier<Jedis> connector, int maxKeys) {
+        this.connector = connector;
+        this.entries = new LinkedHashMap<String, KeyEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, KeyEntry> eldest) {
+                if (size() > maxKeys) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.listener = new Thread(this::listen, "redis-jdbc-near-cache");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * Whether replies of the command may be cached: GET, HGET, HGETALL, SMEMBERS and ZRANGE.
+     */
+    static boolean isCacheable(RedisCommand command) {
+        if (command.isBinary() || command.getArgs().length == 0) {
+            return false;
+        }
+        switch (command.getCommand().toUpperCase()) {
+            case "GET":
+            case "HGET":
+            case "HGETALL":
+            case "SMEMBERS":
+            case "ZRANGE":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Get the cached reply of a cacheable command, loading it with the invoker on one of the
+     * tracked loader connections on a miss. Returns {@link #BYPASS} while tracking is not established.
+     */
+    Object get(RedisCommand command, Loader invoker) throws SQLException {
+        if (!tracking) {
+            return BYPASS;
+        }
+
+        String key = command.getKey();
+        List<String> replyKey = replyKey(command);
+        synchronized (entries) {
+            KeyEntry entry = entries.get(key);
+            if (entry != null && entry.replies.containsKey(replyKey)) {
+                hits.increment();
+                return entry.replies.get(replyKey);
+            }
+        }
+
+        TrackedLoader loader = acquireLoader();
+        if (loader == null) {
+            return BYPASS;
+        }
+        boolean broken = false;
+        try {
+            KeyEntry entry;
+            synchronized (entries) {
+                entry = entries.get(key);
+                if (entry != null && entry.replies.containsKey(replyKey)) {
+                    // Loaded by another thread while waiting for a loader
+                    hits.increment();
+                    return entry.replies.get(replyKey);
+                }
+                if (entry == null) {
+                    // Registered before loading, so an invalidation that arrives while
+                    // the reply is in flight detaches it and the stale reply is dropped
+                    entry = new KeyEntry();
+                    entries.put(key, entry);
+                }
+            }
+            misses.increment();
+
+            Object reply;
+            try {
+                reply = invoker.load(loader.jedis);
+            } finally {
+                broken = loader.jedis.getConnection().isBroken();
+            }
+
+            synchronized (entries) {
+                if (entries.get(key) == entry) {
+                    entry.replies.put(replyKey, reply);
+                }
+            }
+            return reply;
+        } finally {
+            releaseLoader(loader, broken);
+            if (broken) {
+                // Tracking for this connection is lost with it (failed or aborted); start over
+                reset();
+            }
+        }
+    }
+
+    /**
+     * Take an idle loader connection, open a new one while fewer than {@link #MAX_LOADERS}
+     * are open, or wait for one to be released. Returns null while tracking is not established.
+     */
+    private TrackedLoader acquireLoader() {
+        long loaderSession;
+        long redirect;
+        synchronized (loaderLock) {
+            while (true) {
+                if (!tracking) {
+                    return null;
+                }
+                TrackedLoader idle = idleLoaders.pollFirst();
+                if (idle != null) {
+                    return idle;
+                }
+                if (openLoaders < MAX_LOADERS) {
+                    openLoaders++;
+                    loaderSession = session;
+                    redirect = subscriberId;
+                    break;
+                }
+                try {
+                    loaderLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        }
+
+        try {
+            return new TrackedLoader(openLoader(redirect), loaderSession);
+        } catch (JedisException e) {
+            synchronized (loaderLock) {
+                openLoaders--;
+                loaderLock.notify();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Open a loader connection with tracking redirected to the subscriber with the given id.
+     */
+    private Jedis openLoader(long redirect) {
+        Jedis jedis = connector.get();
+        try {
+            jedis.sendCommand(Protocol.Command.CLIENT, "TRACKING", "on", "REDIRECT", String.valueOf(redirect));
+            return jedis;
+        } catch (JedisException e) {
+            jedis.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a loader for reuse, or close it if it broke or belongs to an earlier tracking session.
+     */
+    private void releaseLoader(TrackedLoader loader, boolean broken) {
+        synchronized (loaderLock) {
+            loaderLock.notify();
+            if (!broken && tracking && loader.session == session) {
+                idleLoaders.addFirst(loader);
+                return;
+            }
+            openLoaders--;
+        }
+        loader.jedis.close();
+    }
+
+    /**
+     * Drop the cached replies for a key, e.g. right after this connection wrote it,
+     * without waiting for the server's invalidation message.
+     */
+    void invalidate(String key) {
+        if (key == null) {
+            return;
+        }
+        synchronized (entries) {
+            if (entries.remove(key) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    /**
+     * Drop the cached replies for the keys a command may have written: every key of
+     * DEL, UNLINK, MSET and MSETNX, otherwise the command's first key. Reads such as
+     * TTL, EXISTS or HLEN leave the cache alone.
+     */
+    void invalidateWritten(RedisCommand command) {
+        if (isCacheable(command) || command.isReadOnly()) {
+            return;
+        }
+        String[] args = command.getArgs();
+        switch (command.getCommand().toUpperCase()) {
+            case "DEL":
+            case "UNLINK":
+                for (String key : args) {
+                    invalidate(key);
+                }
+                break;
+            case "MSET":
+            case "MSETNX":
+                for (int i = 0; i < args.length; i += 2) {
+                    invalidate(args[i]);
+                }
+                break;
+            default:
+                invalidate(command.getKey());
+                break;
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Whether invalidations are being received, so that reads are served from the cache.
+     */
+    public boolean isTracking() {
+        return tracking;
+    }
+
+    public void close() {
+        running = false;
+        reset();
+        listener.interrupt();
+    }
+
+    private static List<String> replyKey(RedisCommand command) {
+        String[] args = command.getArgs();
+        String[] key = new String[args.length + 1];
+        key[0] = command.getCommand().toUpperCase();
+        System.arraycopy(args, 0, key, 1, args.length);
+        return Arrays.asList(key);
+    }
+
+    /**
+     * Stop serving from the cache and drop its connections; the listener thread reconnects.
+     */
+    private void reset() {
+        synchronized (loaderLock) {
+            tracking = false;
+            loaderLock.notifyAll();
+        }
+        clear();
+        Jedis current = subscriber;
+        if (current != null) {
+            current.getConnection().disconnect();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try {
+                track();
+            } catch (JedisException e) {
+                if (running) {
+                    // Warn once when an established session is lost, not on every failed reconnect
+                    LOGGER.log(tracking ? Level.WARNING : Level.FINE,
+                        "Near cache invalidation connection failed, retrying", e);
+                }
+            } finally {
+                tracking = false;
+                clear();
+                closeConnections();
+            }
+            if (running) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Open the subscriber and a first loader connection, enable tracking and process
+     * invalidation messages until the subscriber connection fails or is closed.
+     */
+    private void track() {
+        Jedis sub = connector.get();
+        subscriber = sub;
+        if (!running) {
+            return;
+        }
+        long subscriberId = sub.clientId();
+        Connection connection = sub.getConnection();
+        connection.setTimeoutInfinite();
+        connection.sendCommand(Protocol.Command.SUBSCRIBE, INVALIDATE_CHANNEL);
+        connection.getObjectMultiBulkReply();
+
+        // Reads are only served from the cache once the server has accepted tracking
+        Jedis first;
+        try {
+            first = openLoader(subscriberId);
+        } catch (JedisDataException e) {
+            LOGGER.log(Level.WARNING, "The server rejected CLIENT TRACKING, the near cache is disabled", e);
+            running = false;
+            return;
+        }
+        synchronized (loaderLock) {
+            this.subscriberId = subscriberId;
+            session++;
+            idleLoaders.addFirst(new TrackedLoader(first, session));
+            openLoaders++;
+            tracking = true;
+        }
+
+        while (running) {
+            List<Object> message = connection.getUnflushedObjectMultiBulkReply();
+            if (message.size() < 3 || !"message".equals(text(message.get(0)))) {
+                continue;
+            }
+            Object keys = message.get(2);
+            if (keys instanceof List) {
+                synchronized (entries) {
+                    for (Object key : (List<?>) keys) {
+                        if (entries.remove(text(key)) != null) {
+                            invalidations.increment();
+                        }
+                    }
+                }
+            } else {
+                // A null key list means the server flushed its tracking table (FLUSHALL, FLUSHDB, ...)
+                clear();
+            }
+        }
+    }
+
+    private void closeConnections() {
+        List<TrackedLoader> idle;
+        synchronized (loaderLock) {
+            // Loaders still in use see the new session on release and are closed then
+            session++;
+            idle = new ArrayList<>(idleLoaders);
+            idleLoaders.clear();
+            openLoaders -= idle.size();
+            loaderLock.notifyAll();
+        }
+        for (TrackedLoader loader : idle) {
+            loader.jedis.close();
+        }
+        Jedis sub = subscriber;
+        subscriber = null;
+        if (sub != null) {
+            sub.close();
+        }
+    }
+
+    private static String text(Object value) {
+        return value instanceof byte[] ? new String((byte[]) value, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+
+    /**
+     * A connection with tracking redirected to the subscriber of one tracking session.
+     */
+    private static final class TrackedLoader {
+        final Jedis jedis;
+        final long session;
+
+        TrackedLoader(Jedis jedis, long session) {
+            this.jedis = jedis;
+            this.session = session;
+        }
+    }
+
+    /**
+     * Cached replies of the commands read from one Redis key.
+     */
+    private static final class KeyEntry {
+        private final Map<List<String>, Object> replies = new HashMap<>(4);
+    }
+}
@@ -9,9 +9,19 @@ import java.sql.SQLException;
  */
 public class RedisParameterMetaData implements ParameterMetaData {
 
+    private final int parameterCount;
+
+    public RedisParameterMetaData() {
+        this(0);
+    }
+
+    public RedisParameterMetaData(int parameterCount) {
+        this.parameterCount = parameterCount;
+    }
+
     @Override
     public int getParameterCount() throws SQLException {
-        return 0; // Redis doesn't support traditional parameters
+        return parameterCount;
     }
 
     @Override
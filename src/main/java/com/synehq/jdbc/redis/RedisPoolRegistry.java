@@ -0,0 +1,107 @@
+package com.synehq.jdbc.redis;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.util.Pool;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Driver-wide registry of connection pools shared between {@link RedisConnection}s.
+ * Connections with the same endpoint, database and credentials reuse one pool,
+ * together with the replica router built on it; both are closed when the last
+ * connection using them is closed.
+ */
+public final class RedisPoolRegistry {
+
+    private static final Map<List<Object>, SharedPool> POOLS = new HashMap<>();
+
+    private RedisPoolRegistry() {
+    }
+
+    /**
+     * Get the pool registered under the key, creating it with the factory if this is
+     * the first user. The key includes the pool settings, so connections only share a pool
+     * configured the way they asked for.
+     */
+    public static synchronized Pool<Jedis> acquire(List<Object> key, Supplier<Pool<Jedis>> factory) {
+        SharedPool shared = POOLS.get(key);
+        if (shared == null || shared.pool.isClosed()) {
+            shared = new SharedPool(factory.get());
+            POOLS.put(key, shared);
+        }
+        shared.references++;
+        return shared.pool;
+    }
+
+    /**
+     * Get the replica router of the pool registered under the key, creating it with the
+     * factory if it is the first use, so that connections sharing a pool also share the
+     * replica pools and their refresh task. The caller must hold a reference to the pool.
+     * The factory discovers the replicas over the network, so it runs outside the registry
+     * lock; if another connection published a router meanwhile, that one is used instead.
+     */
+    public static RedisReplicaRouter acquireReplicaRouter(List<Object> key,
+                                                          Function<Pool<Jedis>, RedisReplicaRouter> factory) {
+        Pool<Jedis> pool;
+        synchronized (RedisPoolRegistry.class) {
+            SharedPool shared = getShared(key);
+            if (shared.router != null) {
+                return shared.router;
+            }
+            pool = shared.pool;
+        }
+        
+        RedisReplicaRouter router = factory.apply(pool);
+        RedisReplicaRouter published;
+        synchronized (RedisPoolRegistry.class) {
+            SharedPool shared = getShared(key);
+            if (shared.router == null) {
+                shared.router = router;
+            }
+            published = shared.router;
+        }
+        if (published != router) {
+            router.close();
+        }
+        return published;
+    }
+
+    private static SharedPool getShared(List<Object> key) {
+        SharedPool shared = POOLS.get(key);
+        if (shared == null) {
+            throw new IllegalStateException("No shared pool is registered for the connection");
+        }
+        return shared;
+    }
+
+    /**
+     * Release one reference to the pool registered under the key.
+     */
+    public static synchronized void release(List<Object> key) {
+        SharedPool shared = POOLS.get(key);
+        if (shared == null) {
+            return;
+        }
+        if (--shared.references <= 0) {
+            POOLS.remove(key);
+            if (shared.router != null) {
+                shared.router.close();
+            }
+            shared.pool.close();
+        }
+    }
+
+    private static final class SharedPool {
+        private final Pool<Jedis> pool;
+        private RedisReplicaRouter router;
+        private int references;
+
+        private SharedPool(Pool<Jedis> pool) {
+            this.pool = pool;
+        }
+    }
+}
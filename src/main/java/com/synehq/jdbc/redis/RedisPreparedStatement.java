@@ -1,40 +1,57 @@
 package com.synehq.jdbc.redis;
 
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Redis JDBC PreparedStatement implementation.
- * This is a dummy implementation that delegates to RedisStatement.
- * Redis doesn't support prepared statements in the traditional sense.
+ * The statement is parsed once into a {@link RedisCommandTemplate}; each execution
+ * binds the parameter values into a copy of the argument array and sends it without
+ * rebuilding or re-parsing the command text. Values are sent as-is, so they need no
+ * quoting, and {@code setBytes} values are sent as raw bytes.
  */
 public class RedisPreparedStatement extends RedisStatement implements PreparedStatement {
     
-    private final String sql;
-    private final List<Object> parameters = new ArrayList<>();
+    private final RedisCommandTemplate template;
+    private final Object[] parameters;
 
-    public RedisPreparedStatement(RedisConnection connection, String sql) {
+    public RedisPreparedStatement(RedisConnection connection, String sql) throws SQLException {
         super(connection);
-        this.sql = sql;
+        try {
+            this.template = RedisCommandParser.parseTemplate(sql);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Failed to parse Redis command: " + e.getMessage(), e);
+        }
+        this.parameters = new Object[template.getParameterCount()];
+        Arrays.fill(parameters, RedisCommandTemplate.UNSET);
     }
 
     @Override
     public ResultSet executeQuery() throws SQLException {
-        String processedSql = processParameters(sql);
-        return super.executeQuery(processedSql);
+        checkClosed();
+        return super.executeQuery(template.bind(parameters));
     }
 
     @Override
     public int executeUpdate() throws SQLException {
-        String processedSql = processParameters(sql);
-        return super.executeUpdate(processedSql);
+        checkClosed();
+        return super.executeUpdate(template.bind(parameters));
     }
 
     @Override
     public boolean execute() throws SQLException {
-        String processedSql = processParameters(sql);
-        return super.execute(processedSql);
+        checkClosed();
+        return super.execute(template.bind(parameters));
+    }
+
+    /**
+     * Asynchronous variant of {@link #executeQuery()}; see {@link RedisAsyncStatement#executeAsync(String)}.
+     * The parameter values are bound at the time of the call.
+     */
+    public CompletableFuture<ResultSet> executeAsync() throws SQLException {
+        checkClosed();
+        return super.executeAsync(template.bind(parameters));
     }
 
     @Override
@@ -139,7 +156,7 @@ public class RedisPreparedStatement extends RedisStatement implements PreparedSt
     @Override
     public void clearParameters() throws SQLException {
         checkClosed();
-        parameters.clear();
+        Arrays.fill(parameters, RedisCommandTemplate.UNSET);
     }
 
     @Override
@@ -162,7 +179,7 @@ public class RedisPreparedStatement extends RedisStatement implements PreparedSt
     @Override
     public void addBatch() throws SQLException {
         checkClosed();
-        throw new SQLFeatureNotSupportedException("Redis does not support batch operations");
+        super.addBatch(template.bind(parameters));
     }
 
     @Override
@@ -225,7 +242,7 @@ public class RedisPreparedStatement extends RedisStatement implements PreparedSt
     @Override
     public ParameterMetaData getParameterMetaData() throws SQLException {
         checkClosed();
-        return new RedisParameterMetaData();
+        return new RedisParameterMetaData(template.getParameterCount());
     }
 
     @Override
@@ -324,42 +341,12 @@ public class RedisPreparedStatement extends RedisStatement implements PreparedSt
     }
 
     private void setParameter(int parameterIndex, Object value) throws SQLException {
-        if (parameterIndex < 1) {
-            throw new SQLException("Parameter index must be >= 1");
-        }
-        
-        // Ensure the parameters list is large enough
-        while (parameters.size() < parameterIndex) {
-            parameters.add(null);
-        }
-        
-        parameters.set(parameterIndex - 1, value);
-    }
-
-    private String processParameters(String sql) throws SQLException {
-        String processedSql = sql;
-        
-        for (int i = 0; i < parameters.size(); i++) {
-            Object param = parameters.get(i);
-            String placeholder = "?";
-            String replacement;
-            
-            if (param == null) {
-                replacement = "null";
-            } else if (param instanceof String) {
-                replacement = "\"" + param.toString().replace("\"", "\\\"") + "\"";
-            } else {
-                replacement = param.toString();
-            }
-            
-            // Replace the first occurrence of ? with the parameter value
-            int index = processedSql.indexOf(placeholder);
-            if (index != -1) {
-                processedSql = processedSql.substring(0, index) + replacement + processedSql.substring(index + 1);
-            }
+        if (parameterIndex < 1 || parameterIndex > parameters.length) {
+            throw new SQLException("Parameter index out of range: " + parameterIndex
+                + " (statement has " + parameters.length + " parameters)");
         }
         
-        return processedSql;
+        parameters[parameterIndex - 1] = value;
     }
 
     private void checkClosed() throws SQLException {
@@ -0,0 +1,122 @@
+package com.synehq.jdbc.redis;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.util.Pool;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cursor over index ranges of lists and sorted sets (LRANGE/ZRANGE).
+ * The requested range is split into windows of {@code windowSize} elements,
+ * each fetched with its own LRANGE/ZRANGE call when the previous one is consumed.
+ */
+public class RedisRangeCursor implements RedisCursor {
+
+    private final RedisStatement statement;
+    private final RedisConnection connection;
+    private final String command;
+    private final String key;
+    private final int windowSize;
+    private long position;
+    private long stop;
+    private boolean normalized;
+    private boolean finished = false;
+    private Pool<Jedis> node;
+    private boolean routed;
+
+    public RedisRangeCursor(RedisStatement statement, String command, String key,
+                            long start, long stop, int windowSize) {
+        this.statement = statement;
+        this.connection = statement.getRedisConnection();
+        this.command = command;
+        this.key = key;
+        this.windowSize = windowSize;
+        this.position = start;
+        this.stop = stop;
+        // "-1" just means "to the end", which short windows detect without knowing the length
+        this.normalized = start >= 0 && stop >= -1;
+    }
+
+    @Override
+    public List<?> fetchNext() throws SQLException {
+        if (finished) {
+            return Collections.emptyList();
+        }
+
+        try (Jedis jedis = borrow()) {
+            return statement.track(jedis, null, this::window);
+        } catch (JedisException e) {
+            throw new SQLException("Redis command failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean hasMore() {
+        return !finished;
+    }
+
+    /**
+     * Borrow a connection to the node chosen for this cursor on its first window.
+     */
+    private Jedis borrow() throws SQLException {
+        if (!routed) {
+            node = connection.getReadPool();
+            routed = true;
+        }
+        return node != null ? node.getResource() : connection.getReadJedis(key);
+    }
+
+    private List<String> window(Jedis jedis) throws SQLException {
+        if (!normalized) {
+            normalize(jedis);
+            if (finished) {
+                return Collections.emptyList();
+            }
+        }
+
+        long from = position;
+        long end = from + windowSize - 1;
+        if (stop >= 0 && end > stop) {
+            end = stop;
+        }
+
+        List<String> window;
+        switch (command) {
+            case "LRANGE":
+                window = jedis.lrange(key, from, end);
+                break;
+            case "ZRANGE":
+                window = jedis.zrange(key, from, end);
+                break;
+            default:
+                throw new SQLException("Unsupported range command: " + command);
+        }
+
+        position = from + window.size();
+        if (window.size() < end - from + 1 || (stop >= 0 && position > stop)) {
+            finished = true;
+        }
+        return window;
+    }
+
+    /**
+     * Resolve negative start/stop offsets against the current length, the same
+     * way the server would for a single LRANGE/ZRANGE call.
+     */
+    private void normalize(Jedis jedis) {
+        long length = "LRANGE".equals(command) ? jedis.llen(key) : jedis.zcard(key);
+        if (position < 0) {
+            position = Math.max(0, length + position);
+        }
+        if (stop < 0) {
+            stop = length + stop;
+        }
+        normalized = true;
+        if (stop < position) {
+            finished = true;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.synehq.jdbc.redis;
+
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.util.Pool;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Routes read commands of a standalone connection between the primary and its
+ * replicas. Replicas are discovered from {@code INFO replication} on the primary
+ * and re-discovered in the background every {@value #REFRESH_INTERVAL_MILLIS} ms, or
+ * sooner after a replica failed; each replica gets its own pool with the primary's settings.
+ */
+public class RedisReplicaRouter {
+
+    /**
+     * Where read commands are sent (the {@code readFrom} property).
+     */
+    public enum ReadFrom {
+        /** Always the primary. */
+        PRIMARY,
+        /** The primary, or a replica while the primary is unreachable. */
+        PRIMARY_PREFERRED,
+        /** Only replicas; reads fail when none is online. */
+        REPLICA,
+        /** Replicas, or the primary when none is online. */
+        REPLICA_PREFERRED,
+        /** The node, primary or replica, with the lowest PING round-trip. */
+        NEAREST;
+
+        public static ReadFrom parse(String value) throws SQLException {
+            switch (value.toLowerCase(Locale.ROOT)) {
+                case "primary":
+                case "master":
+                    return PRIMARY;
+                case "primarypreferred":
+                    return PRIMARY_PREFERRED;
+                case "replica":
+                case "slave":
+                    return REPLICA;
+                case "replicapreferred":
+                    return REPLICA_PREFERRED;
+                case "nearest":
+                    return NEAREST;
+                default:
+                    throw new SQLException("Unknown readFrom value: " + value
+                        + " (expected primary, primaryPreferred, replica, replicaPreferred or nearest)");
+            }
+        }
+    }
+
+    private static final long REFRESH_INTERVAL_MILLIS = 30_000;
+    private static final Logger LOGGER = Logger.getLogger(RedisReplicaRouter.class.getName());
+    private static final ScheduledThreadPoolExecutor REFRESHER = createRefresher();
+
+    private final Pool<Jedis> primary;
+    private final BiFunction<HostAndPort, DefaultJedisClientConfig, JedisPool> poolFactory;
+    private final DefaultJedisClientConfig clientConfig;
+    private final Map<HostAndPort, JedisPool> replicaPools = new HashMap<>();
+    private final List<JedisPool> retiredPools = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicBoolean refreshRequested = new AtomicBoolean();
+    private final ScheduledFuture<?> refreshTask;
+
+    private volatile List<JedisPool> replicas = Collections.emptyList();
+    private volatile Pool<Jedis> nearest;
+    private boolean closed = false;
+
+    /**
+     * Discovers the replicas once before returning, then keeps re-discovering them on a
+     * background thread so that reads never wait for it.
+     */
+    public RedisReplicaRouter(Pool<Jedis> primary, DefaultJedisClientConfig clientConfig,
+                              BiFunction<HostAndPort, DefaultJedisClientConfig, JedisPool> poolFactory) {
+        this.primary = primary;
+        this.clientConfig = clientConfig;
+        this.poolFactory = poolFactory;
+        refresh();
+        this.refreshTask = REFRESHER.scheduleWithFixedDelay(this::refresh,
+            REFRESH_INTERVAL_MILLIS, REFRESH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private static ScheduledThreadPoolExecutor createRefresher() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "redis-jdbc-replica-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * Borrow a connection for a read command according to the routing mode.
+     */
+    public Jedis getReadJedis(ReadFrom readFrom) throws SQLException {
+        return route(readFrom, null);
+    }
+
+    /**
+     * Choose the node for a series of reads that must all see the same server, such as the
+     * windows of a cursor, and return its pool.
+     */
+    public Pool<Jedis> getReadPool(ReadFrom readFrom) throws SQLException {
+        AtomicReference<Pool<Jedis>> chosen = new AtomicReference<>();
+        route(readFrom, chosen).close();
+        return chosen.get();
+    }
+
+    /**
+     * @param chosen when not null, set to the pool the returned connection was borrowed from
+     */
+    private Jedis route(ReadFrom readFrom, AtomicReference<Pool<Jedis>> chosen) throws SQLException {
+        if (readFrom == ReadFrom.PRIMARY) {
+            return borrow(primary, chosen);
+        }
+
+        switch (readFrom) {
+            case PRIMARY_PREFERRED:
+                try {
+                    return borrow(primary, chosen);
+                } catch (JedisException e) {
+                    Jedis replica = borrowReplica(chosen);
+                    if (replica == null) {
+                        throw e;
+                    }
+                    return replica;
+                }
+            case REPLICA: {
+                Jedis replica = borrowReplica(chosen);
+                if (replica == null) {
+                    throw new SQLException("No replica available for read");
+                }
+                return replica;
+            }
+            case NEAREST: {
+                Pool<Jedis> pool = nearest;
+                if (pool != null && pool != primary) {
+                    try {
+                        return borrow(pool, chosen);
+                    } catch (JedisException e) {
+                        requestRefresh();
+                    }
+                }
+                return borrow(primary, chosen);
+            }
+            default: {
+                Jedis replica = borrowReplica(chosen);
+                return replica != null ? replica : borrow(primary, chosen);
+            }
+        }
+    }
+
+    private static Jedis borrow(Pool<Jedis> pool, AtomicReference<Pool<Jedis>> chosen) {
+        Jedis jedis = pool.getResource();
+        if (chosen != null) {
+            chosen.set(pool);
+        }
+        return jedis;
+    }
+
+    /**
+     * Borrow from the online replicas in round-robin order, skipping unreachable ones,
+     * or return null when none can be reached.
+     */
+    private Jedis borrowReplica(AtomicReference<Pool<Jedis>> chosen) {
+        List<JedisPool> current = replicas;
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(current.size(), 1));
+        for (int i = 0; i < current.size(); i++) {
+            try {
+                return borrow(current.get((start + i) % current.size()), chosen);
+            } catch (JedisException e) {
+                // Replica went away: try the next one and re-discover soon
+                requestRefresh();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Re-discover the replicas on the background thread without waiting for the next interval.
+     */
+    private void requestRefresh() {
+        if (refreshRequested.compareAndSet(false, true)) {
+            REFRESHER.execute(() -> {
+                refreshRequested.set(false);
+                refresh();
+            });
+        }
+    }
+
+    /**
+     * Re-read the replica list from the primary and re-measure the nearest node.
+     * Pools of replicas that went away are retired and closed once none of their
+     * connections is borrowed any more.
+     */
+    private synchronized void refresh() {
+        if (closed) {
+            return;
+        }
+        closeIdleRetiredPools();
+
+        List<HostAndPort> online;
+        try (Jedis jedis = primary.getResource()) {
+            online = parseReplicas(jedis.info("replication"));
+        } catch (JedisException e) {
+            LOGGER.log(Level.FINE, "Failed to discover replicas", e);
+            return;
+        }
+
+        List<JedisPool> pools = new ArrayList<>(online.size());
+        for (HostAndPort replica : online) {
+            pools.add(replicaPools.computeIfAbsent(replica,
+                address -> poolFactory.apply(address, clientConfig)));
+        }
+        replicaPools.entrySet().removeIf(entry -> {
+            if (!online.contains(entry.getKey())) {
+                retiredPools.add(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        replicas = pools;
+        nearest = measureNearest(pools);
+        closeIdleRetiredPools();
+    }
+
+    private void closeIdleRetiredPools() {
+        retiredPools.removeIf(pool -> {
+            if (pool.getNumActive() > 0) {
+                return false;
+            }
+            pool.close();
+            return true;
+        });
+    }
+
+    private Pool<Jedis> measureNearest(List<JedisPool> pools) {
+        Pool<Jedis> best = primary;
+        long bestNanos = ping(primary);
+        for (JedisPool pool : pools) {
+            long nanos = ping(pool);
+            if (nanos < bestNanos) {
+                best = pool;
+                bestNanos = nanos;
+            }
+        }
+        return best;
+    }
+
+    private static long ping(Pool<Jedis> pool) {
+        try (Jedis jedis = pool.getResource()) {
+            long start = System.nanoTime();
+            jedis.ping();
+            return System.nanoTime() - start;
+        } catch (JedisException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Online replicas from the {@code slaveN:ip=...,port=...,state=online,...} lines of INFO replication.
+     */
+    static List<HostAndPort> parseReplicas(String info) {
+        List<HostAndPort> replicas = new ArrayList<>();
+        for (String line : info.split("\r?\n")) {
+            if (!line.startsWith("slave") || line.indexOf(':') < 0) {
+                continue;
+            }
+            String host = null;
+            int port = -1;
+            boolean online = false;
+            for (String field : line.substring(line.indexOf(':') + 1).split(",")) {
+                int eq = field.indexOf('=');
+                if (eq < 0) {
+                    continue;
+                }
+                String name = field.substring(0, eq);
+                String value = field.substring(eq + 1).trim();
+                if ("ip".equals(name)) {
+                    host = value;
+                } else if ("port".equals(name)) {
+                    port = Integer.parseInt(value);
+                } else if ("state".equals(name)) {
+                    online = "online".equals(value);
+                }
+            }
+            if (host != null && port > 0 && online) {
+                replicas.add(new HostAndPort(host, port));
+            }
+        }
+        return replicas;
+    }
+
+    public synchronized void close() {
+        closed = true;
+        refreshTask.cancel(false);
+        for (JedisPool pool : replicaPools.values()) {
+            pool.close();
+        }
+        replicaPools.clear();
+        for (JedisPool pool : retiredPools) {
+            pool.close();
+        }
+        retiredPools.clear();
+        replicas = Collections.emptyList();
+        nearest = null;
+    }
+}
@@ -14,26 +14,102 @@ public class RedisResultSet implements ResultSet {
     private final RedisStatement statement;
     private final RedisCommand command;
     private final Object result;
+    private final RedisCursor cursor;
     private final int resultSetNumber;
+    private final boolean binary;
+    private final int rowLimit;
     
+    private Object[] decodedRow;
+    private Object[] decodedRowData;
     private boolean closed = false;
     private boolean beforeFirst = true;
     private boolean afterLast = false;
     private int currentRow = 0;
-    private List<Map<String, Object>> rows;
-    private Map<String, Object> currentRowData;
+    private List<Object[]> rows;
+    private Object[] currentRowData;
     private List<String> columnNames;
     private List<Integer> columnTypes;
+    private final Map<String, Integer> columnLabels = new HashMap<>();
+    private int indexedColumns = 0;
+    private final Map<String, Integer> streamColumns = new HashMap<>();
+    private Object[] streamRowBuffer = new Object[16];
+    private boolean streamSchemaFixed = false;
+    private int rowOffset = 0;
 
     public RedisResultSet(RedisStatement statement, RedisCommand command, Object result, int resultSetNumber) {
         this.statement = statement;
         this.command = command;
         this.result = result;
+        this.cursor = null;
         this.resultSetNumber = resultSetNumber;
+        this.binary = statement != null && statement.isBinary();
+        this.rowLimit = rowLimit(statement);
         
         initializeResultData();
     }
 
+    /**
+     * Create a streaming result set whose rows are pulled from the cursor one
+     * batch at a time as {@link #next()} advances. Only the current batch is
+     * kept in memory, so the result set is strictly forward-only. The first batch
+     * is fetched here, so that the stream field columns sampled from it are part
+     * of the metadata before the first {@link #next()}; stream fields first seen in
+     * later batches are dropped, so the columns never change after that.
+     */
+    public RedisResultSet(RedisStatement statement, RedisCommand command, RedisCursor cursor,
+                          List<String> columnNames, int resultSetNumber) throws SQLException {
+        this.statement = statement;
+        this.command = command;
+        this.result = null;
+        this.cursor = cursor;
+        this.resultSetNumber = resultSetNumber;
+        this.binary = false;
+        this.rowLimit = rowLimit(statement);
+        
+        this.rows = Collections.emptyList();
+        this.currentRow = -1;
+        this.columnNames = new ArrayList<>(columnNames);
+        this.columnTypes = new ArrayList<>();
+        for (int i = 0; i < columnNames.size(); i++) {
+            columnTypes.add(Types.VARCHAR);
+        }
+        if (cursor.hasMore()) {
+            this.rows = toRows(cursor.fetchNext());
+        }
+        if (cursor instanceof RedisStreamCursor) {
+            // Same base columns as a materialized stream reply
+            if (rows.isEmpty()) {
+                this.columnNames.set(0, "value");
+            } else if (this.columnNames.size() == 1) {
+                this.columnNames.add("value");
+                columnTypes.add(Types.VARCHAR);
+            }
+            streamSchemaFixed = true;
+        }
+    }
+
+    /**
+     * The reply the rows were built from, or null for a streaming result set.
+     */
+    Object getReply() {
+        return result;
+    }
+
+    /**
+     * Number of materialized rows, or -1 for a streaming result set.
+     */
+    int getMaterializedRowCount() {
+        return cursor != null ? -1 : rows.size();
+    }
+
+    /**
+     * Maximum number of rows to produce: the statement's max rows, or no limit.
+     */
+    private static int rowLimit(RedisStatement statement) {
+        int maxRows = statement != null ? statement.getMaxRowsLimit() : 0;
+        return maxRows > 0 ? maxRows : Integer.MAX_VALUE;
+    }
+
     /**
      * Convert various Redis data types to readable strings, handling nested structures
      */
@@ -105,40 +181,39 @@ public class RedisResultSet implements ResultSet {
         }
     }
 
+    /**
+     * SQL type of a column holding bulk strings.
+     */
+    private int bulkType() {
+        return binary ? Types.VARBINARY : Types.VARCHAR;
+    }
+
     private void initializeResultData() {
         this.rows = new ArrayList<>();
         this.columnNames = new ArrayList<>();
         this.columnTypes = new ArrayList<>();
         
-        // Convert Redis result to tabular format
+        // Convert Redis result to tabular format; each row is an array indexed by column position
         if (result == null) {
             // Null result
             columnNames.add("result");
             columnTypes.add(Types.VARCHAR);
-            Map<String, Object> row = new HashMap<>();
-            row.put("result", null);
-            rows.add(row);
+            rows.add(new Object[] { null });
         } else if (result instanceof String) {
             // String result
             columnNames.add("value");
             columnTypes.add(Types.VARCHAR);
-            Map<String, Object> row = new HashMap<>();
-            row.put("value", result);
-            rows.add(row);
+            rows.add(new Object[] { result });
         } else if (result instanceof byte[]) {
             // Bulk string as bytes
             columnNames.add("value");
-            columnTypes.add(Types.VARCHAR);
-            Map<String, Object> row = new HashMap<>();
-            row.put("value", convertToString(result));
-            rows.add(row);
+            columnTypes.add(bulkType());
+            rows.add(new Object[] { result });
         } else if (result instanceof Long) {
             // Numeric result
             columnNames.add("count");
             columnTypes.add(Types.BIGINT);
-            Map<String, Object> row = new HashMap<>();
-            row.put("count", result);
-            rows.add(row);
+            rows.add(new Object[] { result });
         } else if (result instanceof List) {
             // List result (e.g., KEYS, LRANGE, SMEMBERS, XRANGE)
             List<?> list = (List<?>) result;
@@ -146,104 +221,32 @@ public class RedisResultSet implements ResultSet {
                 // Try to return a sensible schema for streams as well
                 columnNames.add("value");
                 columnTypes.add(Types.VARCHAR);
-                Map<String, Object> row = new HashMap<>();
-                row.put("value", null);
-                rows.add(row);
+                rows.add(new Object[] { null });
             } else if (list.get(0) instanceof redis.clients.jedis.resps.StreamEntry) {
-                // XRANGE returns a list of StreamEntry; expand all the fields as separate columns
-                Set<String> allFieldNames = new LinkedHashSet<>();
-                
-                // First pass: collect all unique field names across all stream entries
-                for (Object item : list) {
-                    if (item instanceof redis.clients.jedis.resps.StreamEntry) {
-                        redis.clients.jedis.resps.StreamEntry se = (redis.clients.jedis.resps.StreamEntry) item;
-                        try {
-                            java.util.Map<String, String> fields = se.getFields();
-                            if (fields != null) {
-                                allFieldNames.addAll(fields.keySet());
-                            }
-                        } catch (Exception e) {
-                            // Ignore errors during field collection
-                        }
-                    }
-                }
-                
-                // Set up columns: id first, then all field names as separate columns
+                // XRANGE/XREVRANGE/XREAD return a list of StreamEntry; decode it in one pass,
+                // with the id first and a column added whenever a new field name shows up
                 columnNames.add("id");
                 columnTypes.add(Types.VARCHAR);
-                
-                for (String fieldName : allFieldNames) {
-                    columnNames.add(fieldName != null && !fieldName.trim().isEmpty() ? fieldName : "unnamed_field");
-                    columnTypes.add(Types.VARCHAR);
+                for (Object item : list) {
+                    if (rows.size() >= rowLimit) {
+                        break;
+                    }
+                    rows.add(toStreamRow((redis.clients.jedis.resps.StreamEntry) item));
                 }
                 
                 // If no fields found, add a default column
-                if (allFieldNames.isEmpty()) {
+                if (columnNames.size() == 1) {
                     columnNames.add("value");
                     columnTypes.add(Types.VARCHAR);
                 }
-                
-                // Second pass: create rows with values for each column
-                for (Object item : list) {
-                    if (!(item instanceof redis.clients.jedis.resps.StreamEntry)) {
-                        // Handle unexpected item type gracefully
-                        Map<String, Object> row = new HashMap<>();
-                        row.put("id", null);
-                        for (String fieldName : allFieldNames) {
-                            String colName = fieldName != null && !fieldName.trim().isEmpty() ? fieldName : "unnamed_field";
-                            row.put(colName, "Unexpected item type: " + (item != null ? item.getClass().getSimpleName() : "null"));
-                        }
-                        if (allFieldNames.isEmpty()) {
-                            row.put("value", "Unexpected item type: " + (item != null ? item.getClass().getSimpleName() : "null"));
-                        }
-                        rows.add(row);
-                        continue;
-                    }
-                    
-                    redis.clients.jedis.resps.StreamEntry se = (redis.clients.jedis.resps.StreamEntry) item;
-                    Map<String, Object> row = new HashMap<>();
-                    
-                    // Set the ID
-                    String idStr = null;
-                    try {
-                        if (se.getID() != null) {
-                            idStr = se.getID().toString();
-                        }
-                    } catch (Exception e) {
-                        idStr = "invalid_id";
-                    }
-                    row.put("id", idStr);
-                    
-                    // Get the fields for this entry
-                    java.util.Map<String, String> fields = null;
-                    try {
-                        fields = se.getFields();
-                    } catch (Exception e) {
-                        fields = new HashMap<>();
-                    }
-                    
-                    // Set values for each column
-                    for (String fieldName : allFieldNames) {
-                        String colName = fieldName != null && !fieldName.trim().isEmpty() ? fieldName : "unnamed_field";
-                        String value = (fields != null) ? fields.get(fieldName) : null;
-                        row.put(colName, value);
-                    }
-                    
-                    // If no fields found, add a null value
-                    if (allFieldNames.isEmpty()) {
-                        row.put("value", null);
-                    }
-                    
-                    rows.add(row);
-                }
-
             } else {
                 columnNames.add("value");
-                columnTypes.add(Types.VARCHAR);
+                columnTypes.add(bulkType());
                 for (Object item : list) {
-                    Map<String, Object> row = new HashMap<>();
-                    row.put("value", convertToString(item));
-                    rows.add(row);
+                    if (rows.size() >= rowLimit) {
+                        break;
+                    }
+                    rows.add(new Object[] { item });
                 }
             }
         } else if (result instanceof Map) {
@@ -254,46 +257,36 @@ public class RedisResultSet implements ResultSet {
                 columnNames.add("value");
                 columnTypes.add(Types.VARCHAR);
                 columnTypes.add(Types.VARCHAR);
-                Map<String, Object> row = new HashMap<>();
-                row.put("field", null);
-                row.put("value", null);
-                rows.add(row);
+                rows.add(new Object[] { null, null });
             } else {
                 columnNames.add("field");
                 columnNames.add("value");
                 columnTypes.add(Types.VARCHAR);
-                columnTypes.add(Types.VARCHAR);
+                columnTypes.add(bulkType());
                 for (Map.Entry<?, ?> entry : map.entrySet()) {
-                    Map<String, Object> row = new HashMap<>();
-                    Object k = entry.getKey();
-                    Object v = entry.getValue();
-                    
-                    // Convert key to string
-                    row.put("field", convertToString(k));
-                    
-                    // Convert value to string, handling complex nested structures
-                    row.put("value", convertToString(v));
-                    
-                    rows.add(row);
+                    if (rows.size() >= rowLimit) {
+                        break;
+                    }
+                    // Keep the reply objects; nested structures are only rendered when read
+                    rows.add(new Object[] { entry.getKey(), entry.getValue() });
                 }
             }
         } else if (result instanceof Set) {
             // Set result (e.g., SMEMBERS)
             Set<?> set = (Set<?>) result;
             columnNames.add("value");
-            columnTypes.add(Types.VARCHAR);
+            columnTypes.add(bulkType());
             for (Object item : set) {
-                Map<String, Object> row = new HashMap<>();
-                row.put("value", convertToString(item));
-                rows.add(row);
+                if (rows.size() >= rowLimit) {
+                    break;
+                }
+                rows.add(new Object[] { item });
             }
         } else {
             // Generic object result
             columnNames.add("result");
             columnTypes.add(Types.VARCHAR);
-            Map<String, Object> row = new HashMap<>();
-            row.put("result", convertToString(result));
-            rows.add(row);
+            rows.add(new Object[] { result });
         }
     }
 
@@ -301,6 +294,10 @@ public class RedisResultSet implements ResultSet {
     public boolean next() throws SQLException {
         checkClosed();
         
+        if (cursor != null) {
+            return nextFromCursor();
+        }
+        
         if (beforeFirst) {
             beforeFirst = false;
             if (rows.isEmpty()) {
@@ -326,6 +323,86 @@ public class RedisResultSet implements ResultSet {
         return true;
     }
 
+    private boolean nextFromCursor() throws SQLException {
+        if (afterLast) {
+            return false;
+        }
+        beforeFirst = false;
+        
+        currentRow++;
+        if (rowOffset + currentRow >= rowLimit) {
+            afterLast = true;
+            currentRowData = null;
+            return false;
+        }
+        while (currentRow >= rows.size()) {
+            if (!cursor.hasMore()) {
+                afterLast = true;
+                currentRowData = null;
+                return false;
+            }
+            rowOffset += rows.size();
+            rows = toRows(cursor.fetchNext());
+            currentRow = 0;
+        }
+        
+        currentRowData = rows.get(currentRow);
+        return true;
+    }
+
+    /**
+     * Convert one batch of cursor items into rows. Hash entries become
+     * field/value rows, stream entries an id column plus one column per field
+     * name in the first batch, everything else a single value column.
+     */
+    private List<Object[]> toRows(List<?> items) {
+        List<Object[]> batch = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (item instanceof redis.clients.jedis.resps.StreamEntry) {
+                batch.add(toStreamRow((redis.clients.jedis.resps.StreamEntry) item));
+            } else if (item instanceof Map.Entry) {
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) item;
+                batch.add(new Object[] { entry.getKey(), entry.getValue() });
+            } else {
+                batch.add(new Object[] { item });
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Decode a stream entry into a row: the id in the first column and each field in the
+     * column for its name, appending a column the first time a field name is seen. Once a
+     * streaming result set has fixed its columns, fields without one are dropped.
+     */
+    private Object[] toStreamRow(redis.clients.jedis.resps.StreamEntry entry) {
+        Map<String, String> fields = entry.getFields();
+        if (fields != null) {
+            for (Map.Entry<String, String> field : fields.entrySet()) {
+                String colName = field.getKey() != null && !field.getKey().trim().isEmpty() ? field.getKey() : "unnamed_field";
+                Integer index = streamColumns.get(colName);
+                if (index == null) {
+                    if (streamSchemaFixed) {
+                        continue;
+                    }
+                    index = columnNames.size();
+                    columnNames.add(colName);
+                    columnTypes.add(Types.VARCHAR);
+                    streamColumns.put(colName, index);
+                }
+                if (index >= streamRowBuffer.length) {
+                    streamRowBuffer = Arrays.copyOf(streamRowBuffer, Math.max(index + 1, streamRowBuffer.length * 2));
+                }
+                streamRowBuffer[index] = field.getValue();
+            }
+        }
+        
+        Object[] row = Arrays.copyOf(streamRowBuffer, columnNames.size());
+        row[0] = entry.getID();
+        Arrays.fill(streamRowBuffer, 0, Math.min(streamRowBuffer.length, columnNames.size()), null);
+        return row;
+    }
+
     @Override
     public void close() throws SQLException {
         closed = true;
@@ -340,14 +417,14 @@ public class RedisResultSet implements ResultSet {
     @Override
     public String getString(int columnIndex) throws SQLException {
         checkClosed();
-        Object value = getColumnValue(columnIndex);
+        Object value = getDecodedValue(columnIndex);
         return value != null ? value.toString() : null;
     }
 
     @Override
     public boolean getBoolean(int columnIndex) throws SQLException {
         checkClosed();
-        Object value = getColumnValue(columnIndex);
+        Object value = getDecodedValue(columnIndex);
         if (value == null) return false;
         if (value instanceof Boolean) return (Boolean) value;
         if (value instanceof String) return Boolean.parseBoolean((String) value);
@@ -358,7 +435,7 @@ public class RedisResultSet implements ResultSet {
     @Override
     public byte getByte(int columnIndex) throws SQLException {
         checkClosed();
-        Object value = getColumnValue(columnIndex);
+        Object value = getDecodedValue(columnIndex);
         if (value == null) return 0;
         if (value instanceof Number) return ((Number) value).byteValue();
         if (value instanceof String) return Byte.parseByte((String) value);
@@ -368,7 +445,7 @@ public class RedisResultSet implements ResultSet {
     @Override
     public short getShort(int columnIndex) throws SQLException {
         checkClosed();
-        Object value = getColumnValue(columnIndex);
+        Object value = getDecodedValue(columnIndex);
         if (value == null) return 0;
         if (value instanceof Number) return ((Number) value).shortValue();
         if (value instanceof String) return Short.parseShort((String) value);
@@ -378,7 +455,7 @@ public class RedisResultSet implements ResultSet {
     @Override
     public int getInt(int columnIndex) throws SQLException {
         checkClosed();
-        Object value = getColumnValue(columnIndex);
+        Object value = getDecodedValue(columnIndex);
         if (value == null) return 0;
         if (value instanceof Number) return ((Number) value).intValue();
         if (value instanceof String) return Integer.parseInt((String) value);
@@ -388,7 +465,7 @@ public class RedisResultSet implements ResultSet {
     @Override
     public long getLong(int columnIndex) throws SQLException {
         checkClosed();
-        Object value = getColumnValue(columnIndex);
+        Object value = getDecodedValue(columnIndex);
         if (value == null) return 0;
         if (value instanceof Number) return ((Number) value).longValue();
         if (value instanceof String) return Long.parseLong((String) value);
@@ -398,7 +475,7 @@ public class RedisResultSet implements ResultSet {
     @Override
     public float getFloat(int columnIndex) throws SQLException {
         checkClosed();
-        Object value = getColumnValue(columnIndex);
+        Object value = getDecodedValue(columnIndex);
         if (value == null) return 0;
         if (value instanceof Number) return ((Number) value).floatValue();
         if (value instanceof String) return Float.parseFloat((String) value);
@@ -408,7 +485,7 @@ public class RedisResultSet implements ResultSet {
     @Override
     public double getDouble(int columnIndex) throws SQLException {
         checkClosed();
-        Object value = getColumnValue(columnIndex);
+        Object value = getDecodedValue(columnIndex);
         if (value == null) return 0;
         if (value instanceof Number) return ((Number) value).doubleValue();
         if (value instanceof String) return Double.parseDouble((String) value);
@@ -418,7 +495,7 @@ public class RedisResultSet implements ResultSet {
     @Override
     public java.math.BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
         checkClosed();
-        Object value = getColumnValue(columnIndex);
+        Object value = getDecodedValue(columnIndex);
         if (value == null) return null;
         if (value instanceof java.math.BigDecimal) return (java.math.BigDecimal) value;
         if (value instanceof Number) return new java.math.BigDecimal(value.toString());
@@ -432,14 +509,13 @@ public class RedisResultSet implements ResultSet {
         Object value = getColumnValue(columnIndex);
         if (value == null) return null;
         if (value instanceof byte[]) return (byte[]) value;
-        if (value instanceof String) return ((String) value).getBytes();
-        return value.toString().getBytes();
+        return getDecodedValue(columnIndex).toString().getBytes(StandardCharsets.UTF_8);
     }
 
     @Override
     public java.sql.Date getDate(int columnIndex) throws SQLException {
         checkClosed();
-        Object value = getColumnValue(columnIndex);
+        Object value = getDecodedValue(columnIndex);
         if (value == null) return null;
         if (value instanceof java.sql.Date) return (java.sql.Date) value;
         if (value instanceof String) return java.sql.Date.valueOf((String) value);
@@ -449,7 +525,7 @@ public class RedisResultSet implements ResultSet {
     @Override
     public Time getTime(int columnIndex) throws SQLException {
         checkClosed();
-        Object value = getColumnValue(columnIndex);
+        Object value = getDecodedValue(columnIndex);
         if (value == null) return null;
         if (value instanceof Time) return (Time) value;
         if (value instanceof String) return Time.valueOf((String) value);
@@ -459,7 +535,7 @@ public class RedisResultSet implements ResultSet {
     @Override
     public Timestamp getTimestamp(int columnIndex) throws SQLException {
         checkClosed();
-        Object value = getColumnValue(columnIndex);
+        Object value = getDecodedValue(columnIndex);
         if (value == null) return null;
         if (value instanceof Timestamp) return (Timestamp) value;
         if (value instanceof String) return Timestamp.valueOf((String) value);
@@ -478,7 +554,8 @@ public class RedisResultSet implements ResultSet {
 
     @Override
     public java.io.InputStream getBinaryStream(int columnIndex) throws SQLException {
-        throw new SQLFeatureNotSupportedException("Redis does not support binary streams");
+        byte[] value = getBytes(columnIndex);
+        return value != null ? new java.io.ByteArrayInputStream(value) : null;
     }
 
     @Override
@@ -587,7 +664,11 @@ public class RedisResultSet implements ResultSet {
     @Override
     public Object getObject(int columnIndex) throws SQLException {
         checkClosed();
-        return getColumnValue(columnIndex);
+        Object value = getColumnValue(columnIndex);
+        if (binary && value instanceof byte[]) {
+            return value;
+        }
+        return getDecodedValue(columnIndex);
     }
 
     @Override
@@ -598,12 +679,19 @@ public class RedisResultSet implements ResultSet {
     @Override
     public int findColumn(String columnLabel) throws SQLException {
         checkClosed();
-        for (int i = 0; i < columnNames.size(); i++) {
-            if (columnNames.get(i).equalsIgnoreCase(columnLabel)) {
-                return i + 1;
-            }
+        
+        // Index the column labels on first lookup; the first column with a given label wins,
+        // as with a front-to-back scan
+        while (indexedColumns < columnNames.size()) {
+            columnLabels.putIfAbsent(columnNames.get(indexedColumns).toLowerCase(Locale.ROOT), indexedColumns + 1);
+            indexedColumns++;
         }
-        throw new SQLException("Column '" + columnLabel + "' not found");
+        
+        Integer index = columnLabel != null ? columnLabels.get(columnLabel.toLowerCase(Locale.ROOT)) : null;
+        if (index == null) {
+            throw new SQLException("Column '" + columnLabel + "' not found");
+        }
+        return index;
     }
 
     @Override
@@ -641,18 +729,22 @@ public class RedisResultSet implements ResultSet {
     @Override
     public boolean isFirst() throws SQLException {
         checkClosed();
-        return !beforeFirst && !afterLast && currentRow == 0;
+        return !beforeFirst && !afterLast && rowOffset == 0 && currentRow == 0;
     }
 
     @Override
     public boolean isLast() throws SQLException {
         checkClosed();
+        if (cursor != null && cursor.hasMore()) {
+            return false;
+        }
         return !beforeFirst && !afterLast && currentRow == rows.size() - 1;
     }
 
     @Override
     public void beforeFirst() throws SQLException {
         checkClosed();
+        checkScrollable();
         beforeFirst = true;
         afterLast = false;
         currentRow = 0;
@@ -662,6 +754,7 @@ public class RedisResultSet implements ResultSet {
     @Override
     public void afterLast() throws SQLException {
         checkClosed();
+        checkScrollable();
         beforeFirst = false;
         afterLast = true;
         currentRow = rows.size();
@@ -671,6 +764,7 @@ public class RedisResultSet implements ResultSet {
     @Override
     public boolean first() throws SQLException {
         checkClosed();
+        checkScrollable();
         if (rows.isEmpty()) {
             return false;
         }
@@ -684,6 +778,7 @@ public class RedisResultSet implements ResultSet {
     @Override
     public boolean last() throws SQLException {
         checkClosed();
+        checkScrollable();
         if (rows.isEmpty()) {
             return false;
         }
@@ -700,12 +795,13 @@ public class RedisResultSet implements ResultSet {
         if (beforeFirst || afterLast) {
             return 0;
         }
-        return currentRow + 1;
+        return rowOffset + currentRow + 1;
     }
 
     @Override
     public boolean absolute(int row) throws SQLException {
         checkClosed();
+        checkScrollable();
         if (rows.isEmpty()) {
             return false;
         }
@@ -735,12 +831,14 @@ public class RedisResultSet implements ResultSet {
     @Override
     public boolean relative(int rows) throws SQLException {
         checkClosed();
+        checkScrollable();
         return absolute(getRow() + rows);
     }
 
     @Override
     public boolean previous() throws SQLException {
         checkClosed();
+        checkScrollable();
         if (beforeFirst) {
             return false;
         }
@@ -771,13 +869,13 @@ public class RedisResultSet implements ResultSet {
     @Override
     public void setFetchSize(int rows) throws SQLException {
         checkClosed();
-        // Redis doesn't support fetch size
+        // Batch size of a streaming result set is fixed when the cursor is opened
     }
 
     @Override
     public int getFetchSize() throws SQLException {
         checkClosed();
-        return 0;
+        return cursor != null ? statement.getFetchSize() : 0;
     }
 
     @Override
@@ -1419,6 +1517,9 @@ public class RedisResultSet implements ResultSet {
         if (type.isAssignableFrom(value.getClass())) {
             return type.cast(value);
         }
+        if (type == String.class) {
+            return type.cast(getString(columnIndex));
+        }
         throw new SQLException("Cannot convert value to " + type.getName());
     }
 
@@ -1446,6 +1547,12 @@ public class RedisResultSet implements ResultSet {
         }
     }
 
+    private void checkScrollable() throws SQLException {
+        if (cursor != null) {
+            throw new SQLException("Streaming ResultSet only supports forward iteration with next()");
+        }
+    }
+
     private Object getColumnValue(int columnIndex) throws SQLException {
         if (currentRowData == null) {
             throw new SQLException("No current row");
@@ -1453,14 +1560,45 @@ public class RedisResultSet implements ResultSet {
         if (columnIndex < 1 || columnIndex > columnNames.size()) {
             throw new SQLException("Column index out of range: " + columnIndex);
         }
-        String columnName = columnNames.get(columnIndex - 1);
-        return currentRowData.get(columnName);
+        // Stream rows may be narrower than the schema, e.g. without the default value column
+        return columnIndex <= currentRowData.length ? currentRowData[columnIndex - 1] : null;
+    }
+
+    /**
+     * Column value for the non-binary getters. Rows hold the reply objects as returned by
+     * Jedis; bulk strings, nested lists and maps are only rendered as strings here, when a
+     * column is actually read, and the result is kept until the cursor moves to another row.
+     */
+    private Object getDecodedValue(int columnIndex) throws SQLException {
+        Object value = getColumnValue(columnIndex);
+        if (value == null || value instanceof String || value instanceof Number) {
+            return value;
+        }
+        
+        if (decodedRowData != currentRowData || decodedRow == null || decodedRow.length < columnNames.size()) {
+            if (decodedRow == null || decodedRow.length < columnNames.size()) {
+                decodedRow = new Object[columnNames.size()];
+            } else {
+                Arrays.fill(decodedRow, null);
+            }
+            decodedRowData = currentRowData;
+        }
+        
+        Object decoded = decodedRow[columnIndex - 1];
+        if (decoded == null) {
+            decoded = convertToString(value);
+            decodedRow[columnIndex - 1] = decoded;
+        }
+        return decoded;
     }
 
     public String getStringResult() {
         if (result instanceof String) {
             return (String) result;
         }
+        if (result instanceof byte[]) {
+            return new String((byte[]) result, StandardCharsets.UTF_8);
+        }
         return result != null ? result.toString() : null;
     }
 }
@@ -2,6 +2,7 @@ package com.synehq.jdbc.redis;
 
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,9 +19,12 @@ public class RedisResultSetMetaData implements ResultSetMetaData {
         this.columnTypes = List.of(java.sql.Types.VARCHAR);
     }
 
+    /**
+     * The lists are copied, so the metadata keeps the columns known when it was taken.
+     */
     public RedisResultSetMetaData(List<String> columnNames, List<Integer> columnTypes) {
-        this.columnNames = columnNames;
-        this.columnTypes = columnTypes;
+        this.columnNames = new ArrayList<>(columnNames);
+        this.columnTypes = new ArrayList<>(columnTypes);
     }
 
     @Override
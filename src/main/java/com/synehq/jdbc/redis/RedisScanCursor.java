@@ -0,0 +1,117 @@
+package com.synehq.jdbc.redis;
+
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+import redis.clients.jedis.util.Pool;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cursor over the SCAN/HSCAN/SSCAN family of commands.
+ * Used in place of KEYS, HGETALL and SMEMBERS so large keyspaces and collections
+ * are read in COUNT-sized steps instead of one blocking reply. In cluster mode SCAN
+ * walks each master in turn, since a SCAN cursor is only meaningful on the node
+ * that returned it.
+ */
+public class RedisScanCursor implements RedisCursor {
+
+    private final RedisStatement statement;
+    private final RedisConnection connection;
+    private final String command;
+    private final String key;
+    private final ScanParams params;
+    private String cursor = ScanParams.SCAN_POINTER_START;
+    private List<HostAndPort> masters;
+    private int master;
+    private long remaining;
+    private boolean finished = false;
+    private Pool<Jedis> node;
+    private boolean routed;
+
+    /**
+     * @param pattern MATCH pattern, or null to return every element
+     * @param limit   stop once this many elements were returned; 0 for no limit
+     */
+    public RedisScanCursor(RedisStatement statement, String command, String key, String pattern,
+                           int count, long limit) {
+        this.statement = statement;
+        this.connection = statement.getRedisConnection();
+        this.command = command;
+        this.key = key;
+        this.params = new ScanParams().count(count);
+        if (pattern != null) {
+            params.match(pattern);
+        }
+        this.remaining = limit > 0 ? limit : Long.MAX_VALUE;
+    }
+
+    @Override
+    public List<?> fetchNext() throws SQLException {
+        if (finished) {
+            return Collections.emptyList();
+        }
+
+        if (connection.isCluster() && key == null && masters == null) {
+            masters = connection.getClusterMasters();
+            if (masters.isEmpty()) {
+                throw new SQLException("No cluster master is serving slots");
+            }
+        }
+
+        try (Jedis jedis = masters != null ? connection.getJedis(masters.get(master)) : borrow()) {
+            ScanResult<?> result = statement.track(jedis, null, this::scan);
+
+            cursor = result.getCursor();
+            finished = result.isCompleteIteration();
+            if (finished && masters != null && master + 1 < masters.size()) {
+                // Continue with a fresh cursor on the next master
+                master++;
+                finished = false;
+            }
+            
+            List<?> items = result.getResult();
+            if (items.size() >= remaining) {
+                items = items.subList(0, (int) remaining);
+                finished = true;
+            }
+            remaining -= items.size();
+            return items;
+        } catch (JedisException e) {
+            throw new SQLException("Redis command failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean hasMore() {
+        return !finished;
+    }
+
+    /**
+     * Borrow a connection to the node chosen for this cursor on its first window.
+     */
+    private Jedis borrow() throws SQLException {
+        if (!routed) {
+            node = connection.getReadPool();
+            routed = true;
+        }
+        return node != null ? node.getResource() : connection.getReadJedis(key);
+    }
+
+    private ScanResult<?> scan(Jedis jedis) throws SQLException {
+        switch (command) {
+            case "SCAN":
+                return jedis.scan(cursor, params);
+            case "HSCAN":
+                return jedis.hscan(key, cursor, params);
+            case "SSCAN":
+                return jedis.sscan(key, cursor, params);
+            default:
+                throw new SQLException("Unsupported scan command: " + command);
+        }
+    }
+}
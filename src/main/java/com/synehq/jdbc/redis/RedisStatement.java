@@ -1,21 +1,54 @@
 package com.synehq.jdbc.redis;
 
+import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.args.UnblockType;
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.exceptions.JedisAskDataException;
 import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.exceptions.JedisMovedDataException;
+import redis.clients.jedis.params.XReadParams;
+import redis.clients.jedis.resps.StreamEntry;
 import java.nio.charset.StandardCharsets;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Redis JDBC Statement implementation.
  * Executes Redis commands and returns results as ResultSets.
  */
-public class RedisStatement implements Statement {
+public class RedisStatement implements Statement, RedisAsyncStatement {
+    
+    /**
+     * Fires query timeouts for all statements.
+     */
+    private static final ScheduledThreadPoolExecutor TIMEOUTS = createTimeoutScheduler();
+    /**
+     * Server-side client id of each physical connection that has run a blocking command,
+     * asked for once per socket; weak so that discarded connections drop out.
+     */
+    private static final Map<redis.clients.jedis.Connection, Long> CLIENT_IDS =
+        Collections.synchronizedMap(new WeakHashMap<>());
     
     private final RedisConnection connection;
     private boolean closed = false;
@@ -27,6 +60,19 @@ public class RedisStatement implements Statement {
     private ResultSet resultSet;
     private int updateCount = -1;
     private final AtomicInteger resultSetCounter = new AtomicInteger(0);
+    private final List<RedisCommand> batch = new ArrayList<>();
+    private long poolWaitNanos;
+    
+    private final Object executionLock = new Object();
+    private Jedis executing;
+    private long executingClientId = -1;
+    private HostAndPort executingNode;
+    private long executionCount;
+    private ScheduledFuture<?> timeoutTask;
+    private volatile boolean cancelled;
+    private volatile boolean timedOut;
+    /** Asynchronous commands of this statement that have not completed yet, failed by cancel(). */
+    private final Set<CompletableFuture<ResultSet>> pendingAsync = ConcurrentHashMap.newKeySet();
 
     public RedisStatement(RedisConnection connection) {
         this.connection = connection;
@@ -49,16 +95,40 @@ public class RedisStatement implements Statement {
 		}
 	}
 
+    private static ScheduledThreadPoolExecutor createTimeoutScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "redis-jdbc-query-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
     @Override
     public ResultSet executeQuery(String sql) throws SQLException {
         checkClosed();
         
         try {
-            RedisCommand command = RedisCommandParser.parse(sql);
+            return executeQuery(connection.parseCommand(sql));
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Failed to execute Redis query: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Execute an already parsed command; used by prepared statements to skip re-parsing.
+     */
+    protected ResultSet executeQuery(RedisCommand command) throws SQLException {
+        checkClosed();
+        
+        try {
             RedisResultSet rs = executeRedisCommand(command);
             this.resultSet = rs;
             this.updateCount = -1;
             return rs;
+        } catch (SQLTimeoutException e) {
+            throw e;
         } catch (Exception e) {
             throw new SQLException("Failed to execute Redis query: " + e.getMessage(), e);
         }
@@ -69,7 +139,16 @@ public class RedisStatement implements Statement {
         checkClosed();
         
         try {
-            RedisCommand command = RedisCommandParser.parse(sql);
+            return executeUpdate(connection.parseCommand(sql));
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Failed to execute Redis update: " + e.getMessage(), e);
+        }
+    }
+
+    protected int executeUpdate(RedisCommand command) throws SQLException {
+        checkClosed();
+        
+        try {
             String result = executeRedisCommand(command).getStringResult();
             
             // For commands that return "OK", return 1
@@ -86,6 +165,8 @@ public class RedisStatement implements Statement {
                 this.updateCount = 1;
                 return 1;
             }
+        } catch (SQLTimeoutException e) {
+            throw e;
         } catch (Exception e) {
             throw new SQLException("Failed to execute Redis update: " + e.getMessage(), e);
         }
@@ -122,6 +203,9 @@ public class RedisStatement implements Statement {
     @Override
     public void setMaxRows(int max) throws SQLException {
         checkClosed();
+        if (max < 0) {
+            throw new SQLException("Max rows must be >= 0");
+        }
         this.maxRows = max;
     }
 
@@ -140,14 +224,20 @@ public class RedisStatement implements Statement {
     @Override
     public void setQueryTimeout(int seconds) throws SQLException {
         checkClosed();
+        if (seconds < 0) {
+            throw new SQLException("Query timeout must be >= 0");
+        }
         this.queryTimeout = seconds;
     }
 
     @Override
     public void cancel() throws SQLException {
         checkClosed();
-        // Redis doesn't support query cancellation
-        throw new SQLFeatureNotSupportedException("Redis does not support query cancellation");
+        abort(false);
+        for (CompletableFuture<ResultSet> future : pendingAsync) {
+            // Unsent commands are skipped; replies still arriving are read and dropped
+            future.completeExceptionally(new SQLException("Statement was cancelled"));
+        }
     }
 
     @Override
@@ -172,11 +262,22 @@ public class RedisStatement implements Statement {
         checkClosed();
         
         try {
-            RedisCommand command = RedisCommandParser.parse(sql);
+            return execute(connection.parseCommand(sql));
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Failed to execute Redis command: " + e.getMessage(), e);
+        }
+    }
+
+    protected boolean execute(RedisCommand command) throws SQLException {
+        checkClosed();
+        
+        try {
             RedisResultSet rs = executeRedisCommand(command);
             this.resultSet = rs;
             this.updateCount = -1;
             return true; // Always returns a result set for Redis commands
+        } catch (SQLTimeoutException e) {
+            throw e;
         } catch (Exception e) {
             throw new SQLException("Failed to execute Redis command: " + e.getMessage(), e);
         }
@@ -241,19 +342,261 @@ public class RedisStatement implements Statement {
     @Override
     public void addBatch(String sql) throws SQLException {
         checkClosed();
-        throw new SQLFeatureNotSupportedException("Redis does not support batch operations");
+        
+        try {
+            addBatch(connection.parseCommand(sql));
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Failed to parse Redis command: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ResultSet> executeAsync(String sql) throws SQLException {
+        checkClosed();
+        
+        try {
+            return executeAsync(connection.parseCommand(sql));
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Failed to parse Redis command: " + e.getMessage(), e);
+        }
+    }
+
+    protected CompletableFuture<ResultSet> executeAsync(RedisCommand command) throws SQLException {
+        checkClosed();
+        if (command.isBlocking()) {
+            // Its reply would hold up every command pipelined behind it
+            throw new SQLFeatureNotSupportedException(
+                "Blocking commands cannot be executed asynchronously: " + command.getCommand());
+        }
+        if (maxRows > 0 && !command.isBinary()) {
+            command = limitRows(command, maxRows);
+        }
+        
+        CompletableFuture<ResultSet> future = connection.getAsyncExecutor().submit(this, command);
+        pendingAsync.add(future);
+        ScheduledFuture<?> timeout = queryTimeout <= 0 ? null : TIMEOUTS.schedule(
+            () -> future.completeExceptionally(
+                new SQLTimeoutException("Query timed out after " + queryTimeout + " seconds")),
+            queryTimeout, TimeUnit.SECONDS);
+        future.whenComplete((rs, error) -> {
+            pendingAsync.remove(future);
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Wrap a raw reply read from a pipeline, as done for asynchronous execution.
+     */
+    RedisResultSet toResultSet(RedisCommand command, Object reply) {
+        if ("HGETALL".equalsIgnoreCase(command.getCommand()) && reply instanceof List) {
+            reply = toFieldMap((List<?>) reply);
+        }
+        return new RedisResultSet(this, command, reply, resultSetCounter.incrementAndGet());
+    }
+
+    protected void addBatch(RedisCommand command) throws SQLException {
+        checkClosed();
+        batch.add(command);
     }
 
     @Override
     public void clearBatch() throws SQLException {
         checkClosed();
-        throw new SQLFeatureNotSupportedException("Redis does not support batch operations");
+        batch.clear();
     }
 
+    /**
+     * Send all batched commands over a single pipeline, so the whole batch
+     * costs one network round-trip instead of one per command.
+     */
     @Override
     public int[] executeBatch() throws SQLException {
         checkClosed();
-        throw new SQLFeatureNotSupportedException("Redis does not support batch operations");
+        
+        if (batch.isEmpty()) {
+            return new int[0];
+        }
+        
+        RedisMetrics metrics = connection.getMetrics();
+        if (metrics == null) {
+            return runBatch(null);
+        }
+        
+        // The whole batch is recorded as one PIPELINE command
+        int size = batch.size();
+        long bytesOut = 0;
+        for (RedisCommand command : batch) {
+            bytesOut += RedisMetrics.requestSize(command);
+        }
+        long[] bytesIn = new long[1];
+        poolWaitNanos = 0;
+        long start = System.nanoTime();
+        try {
+            int[] updateCounts = runBatch(bytesIn);
+            metrics.record("PIPELINE", System.nanoTime() - start, poolWaitNanos, bytesOut, bytesIn[0], size, null);
+            return updateCounts;
+        } catch (SQLException e) {
+            metrics.record("PIPELINE", System.nanoTime() - start, poolWaitNanos, bytesOut, bytesIn[0], -1, e);
+            throw e;
+        }
+    }
+
+    /**
+     * @param bytesIn when not null, its first element is increased by the size of each reply
+     */
+    private int[] runBatch(long[] bytesIn) throws SQLException {
+        try {
+            Exception[] nodeFailure = new Exception[1];
+            List<Response<Object>> responses = connection.isCluster()
+                ? pipelineByNode(batch, nodeFailure) : pipeline(batch);
+            
+            int[] updateCounts = new int[responses.size()];
+            JedisException firstError = null;
+            boolean slotsMoved = false;
+            for (int i = 0; i < responses.size(); i++) {
+                if (responses.get(i) == null) {
+                    // Its node failed, or was not reached after another node failed
+                    updateCounts[i] = EXECUTE_FAILED;
+                    continue;
+                }
+                try {
+                    Object reply = responses.get(i).get();
+                    if (bytesIn != null) {
+                        bytesIn[0] += RedisMetrics.replySize(reply);
+                    }
+                    updateCounts[i] = toUpdateCount(reply);
+                } catch (JedisException e) {
+                    updateCounts[i] = EXECUTE_FAILED;
+                    slotsMoved |= e instanceof JedisMovedDataException;
+                    if (firstError == null) {
+                        firstError = e;
+                    }
+                }
+            }
+            
+            if (slotsMoved) {
+                connection.renewClusterSlots();
+            }
+            if (nodeFailure[0] != null) {
+                throw new BatchUpdateException("Redis batch failed: " + nodeFailure[0].getMessage(), updateCounts, nodeFailure[0]);
+            }
+            if (firstError != null) {
+                throw new BatchUpdateException("Redis batch command failed: " + firstError.getMessage(), updateCounts, firstError);
+            }
+            this.updateCount = -1;
+            return updateCounts;
+        } catch (JedisException e) {
+            throw new SQLException("Redis batch failed: " + e.getMessage(), e);
+        } finally {
+            RedisNearCache nearCache = connection.getNearCache();
+            if (nearCache != null) {
+                for (RedisCommand command : batch) {
+                    nearCache.invalidateWritten(command);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private List<Response<Object>> pipeline(List<RedisCommand> commands) throws SQLException {
+        List<Response<Object>> responses = new ArrayList<>(commands.size());
+        long borrowStart = System.nanoTime();
+        try (Jedis jedis = connection.getJedis()) {
+            poolWaitNanos += System.nanoTime() - borrowStart;
+            Pipeline pipeline = jedis.pipelined();
+            for (RedisCommand command : commands) {
+                responses.add(send(pipeline, command));
+            }
+            sync(jedis, pipeline);
+        }
+        return responses;
+    }
+
+    /**
+     * Cluster variant of {@link #pipeline}: commands are grouped by the node owning
+     * their key's slot and each group is pipelined to its node. Responses are
+     * returned in the original batch order. If a node fails, the groups after it are
+     * not sent: their responses and those of the failed group are null, and the error
+     * is stored in {@code failure}, so the groups that did run keep their results.
+     */
+    private List<Response<Object>> pipelineByNode(List<RedisCommand> commands, Exception[] failure) throws SQLException {
+        Map<HostAndPort, List<Integer>> byNode = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            String key = commands.get(i).getKey();
+            if (key == null) {
+                throw new SQLException("Keyless command cannot be batched in cluster mode: " + commands.get(i).getCommand());
+            }
+            byNode.computeIfAbsent(connection.getClusterNode(key), node -> new ArrayList<>()).add(i);
+        }
+        
+        List<Response<Object>> responses = new ArrayList<>(Collections.nCopies(commands.size(), (Response<Object>) null));
+        for (Map.Entry<HostAndPort, List<Integer>> group : byNode.entrySet()) {
+            long borrowStart = System.nanoTime();
+            try (Jedis jedis = connection.getJedis(group.getKey())) {
+                poolWaitNanos += System.nanoTime() - borrowStart;
+                Pipeline pipeline = jedis.pipelined();
+                for (int index : group.getValue()) {
+                    RedisCommand command = commands.get(index);
+                    responses.set(index, send(pipeline, command));
+                }
+                sync(jedis, pipeline);
+            } catch (JedisException | SQLException e) {
+                for (int index : group.getValue()) {
+                    responses.set(index, null);
+                }
+                failure[0] = e;
+                break;
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Read all pipelined replies, subject to cancel() and the query timeout.
+     */
+    private void sync(Jedis jedis, Pipeline pipeline) throws SQLException {
+        track(jedis, null, tracked -> {
+            pipeline.sync();
+            return null;
+        });
+    }
+
+    private static Response<Object> send(Pipeline pipeline, RedisCommand command) {
+        if (command.isBinary()) {
+            return pipeline.sendCommand(protocolCommand(command.getCommand()), command.getBinaryArgs());
+        }
+        return pipeline.sendCommand(protocolCommand(command.getCommand()), command.getArgs());
+    }
+
+    private static int toUpdateCount(Object reply) {
+        if (reply == null) {
+            return 0;
+        }
+        if (reply instanceof Long) {
+            return (int) Math.min((Long) reply, Integer.MAX_VALUE);
+        }
+        if (reply instanceof byte[] && "OK".equals(new String((byte[]) reply, StandardCharsets.UTF_8))) {
+            return 1;
+        }
+        if ("OK".equals(reply)) {
+            return 1;
+        }
+        return SUCCESS_NO_INFO;
+    }
+
+    /**
+     * Resolve a command name to Jedis's built-in enum, falling back to a raw
+     * command for anything it does not know (e.g., module commands like JSON.GET).
+     */
+    static ProtocolCommand protocolCommand(String commandName) {
+        try {
+            return redis.clients.jedis.Protocol.Command.valueOf(commandName);
+        } catch (IllegalArgumentException e) {
+            return new RawCommand(commandName);
+        }
     }
 
     @Override
@@ -262,6 +605,10 @@ public class RedisStatement implements Statement {
         return connection;
     }
 
+    RedisConnection getRedisConnection() {
+        return connection;
+    }
+
     @Override
     public boolean getMoreResults(int current) throws SQLException {
         checkClosed();
@@ -358,184 +705,775 @@ public class RedisStatement implements Statement {
         }
     }
 
-    private RedisResultSet executeRedisCommand(RedisCommand command) throws SQLException {
-        try (Jedis jedis = connection.getJedis()) {
-            String[] args = command.getArgs();
-            String commandName = command.getCommand().toUpperCase();
-            
-            Object result;
-            
-            switch (commandName) {
-                case "GET":
-                    result = jedis.get(args[0]);
-                    break;
-                case "SET":
-                    if (args.length == 2) {
-                        result = jedis.set(args[0], args[1]);
-                    } else if (args.length == 4) {
-                        // SET key value EX seconds
-                        result = jedis.setex(args[0], Long.parseLong(args[3]), args[1]);
-                    } else {
-                        throw new IllegalArgumentException("SET command requires 2 or 4 arguments");
+    /**
+     * Execute commands with potentially large replies through an incremental cursor,
+     * so at most {@code fetchSize} items are held in memory at a time.
+     * Returns null for commands without an incremental equivalent.
+     */
+    private RedisResultSet executeStreaming(RedisCommand command) throws SQLException {
+        String[] args = command.getArgs();
+        
+        switch (command.getCommand().toUpperCase()) {
+            case "HGETALL":
+                if (args.length != 1 || !connection.isScanForCollections()) {
+                    return null;
+                }
+                return new RedisResultSet(this, command,
+                    new RedisScanCursor(this, "HSCAN", args[0], null, fetchSize, maxRows),
+                    Arrays.asList("field", "value"), resultSetCounter.incrementAndGet());
+            case "SMEMBERS":
+                if (args.length != 1 || !connection.isScanForCollections()) {
+                    return null;
+                }
+                return new RedisResultSet(this, command,
+                    new RedisScanCursor(this, "SSCAN", args[0], null, fetchSize, maxRows),
+                    Arrays.asList("value"), resultSetCounter.incrementAndGet());
+            case "LRANGE":
+            case "ZRANGE": {
+                Long start = args.length == 3 ? parseLong(args[1]) : null;
+                Long stop = args.length == 3 ? parseLong(args[2]) : null;
+                if (start == null || stop == null) {
+                    return null;
+                }
+                return new RedisResultSet(this, command,
+                    new RedisRangeCursor(this, command.getCommand().toUpperCase(), args[0], start, stop, fetchSize),
+                    Arrays.asList("value"), resultSetCounter.incrementAndGet());
+            }
+            case "XRANGE":
+            case "XREVRANGE": {
+                Long limit;
+                if (args.length == 3) {
+                    limit = -1L;
+                } else if (args.length == 5 && "COUNT".equalsIgnoreCase(args[3])) {
+                    limit = parseLong(args[4]);
+                } else {
+                    limit = null;
+                }
+                if (limit == null) {
+                    return null;
+                }
+                return new RedisResultSet(this, command,
+                    new RedisStreamCursor(this, command.getCommand().toUpperCase(), args[0], args[1], args[2],
+                        fetchSize, limit),
+                    Arrays.asList("id"), resultSetCounter.incrementAndGet());
+            }
+            case "XREAD": {
+                // Only non-blocking reads of a single stream: XREAD [COUNT n] STREAMS key id
+                int streams = args.length == 3 ? 0 : 2;
+                if (args.length != streams + 3 || !"STREAMS".equalsIgnoreCase(args[streams])
+                    || (streams == 2 && !"COUNT".equalsIgnoreCase(args[0]))) {
+                    return null;
+                }
+                Long limit = streams == 2 ? parseLong(args[1]) : Long.valueOf(-1);
+                if (limit == null) {
+                    return null;
+                }
+                return new RedisResultSet(this, command,
+                    new RedisStreamCursor(this, "XREAD", args[streams + 1], args[streams + 2], null,
+                        fetchSize, limit),
+                    Arrays.asList("id"), resultSetCounter.incrementAndGet());
+            }
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Parse a numeric argument, or return null so that a malformed one is left for the server to report.
+     */
+    private static Long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Rewrite a range command so the server returns at most {@code limit} items:
+     * LRANGE/ZRANGE/ZREVRANGE get their stop index pulled in, XRANGE/XREVRANGE/XREAD a COUNT,
+     * and score/lex range queries a LIMIT. Commands whose reply size cannot be bounded this way
+     * are returned unchanged; the result set still stops reading after {@code limit} rows.
+     */
+    static RedisCommand limitRows(RedisCommand command, int limit) {
+        String[] args = command.getArgs();
+        String name = command.getCommand().toUpperCase();
+        
+        try {
+            switch (name) {
+                case "LRANGE":
+                case "ZRANGE":
+                case "ZREVRANGE": {
+                    if (args.length != 3) {
+                        return command;
+                    }
+                    long start = Long.parseLong(args[1]);
+                    long stop = Long.parseLong(args[2]);
+                    // A negative start or a stop counted from the end depends on the length, which is unknown here
+                    if (start < 0 || stop < -1) {
+                        return command;
                     }
-                    break;
-                case "DEL":
-                    result = jedis.del(args);
-                    break;
-                case "EXISTS":
-                    result = jedis.exists(args);
-                    break;
-                case "KEYS":
-                    result = jedis.keys(args[0]);
-                    break;
-                case "TYPE":
-                    result = jedis.type(args[0]);
-                    break;
-                case "TTL":
-                    result = jedis.ttl(args[0]);
-                    break;
-                case "EXPIRE":
-                    result = jedis.expire(args[0], Integer.parseInt(args[1]));
-                    break;
-                case "PERSIST":
-                    result = jedis.persist(args[0]);
-                    break;
-                case "PING":
-                    result = jedis.ping();
-                    break;
-                case "INFO":
-                    result = jedis.info(args.length > 0 ? args[0] : null);
-                    break;
-                case "DBSIZE":
-                    result = jedis.dbSize();
-                    break;
-                case "FLUSHDB":
-                    result = jedis.flushDB();
-                    break;
-                case "FLUSHALL":
-                    result = jedis.flushAll();
-                    break;
-                case "SELECT":
-                    result = jedis.select(Integer.parseInt(args[0]));
-                    break;
-                case "HSET":
+                    long limitedStop = start + limit - 1;
+                    if (stop >= 0 && stop <= limitedStop) {
+                        return command;
+                    }
+                    return new RedisCommand(command.getCommand(), new String[] { args[0], args[1], Long.toString(limitedStop) });
+                }
+                case "XRANGE":
+                case "XREVRANGE":
                     if (args.length == 3) {
-                        result = jedis.hset(args[0], args[1], args[2]);
-                    } else if (args.length > 3 && args.length % 2 == 1) {
-                        // Multiple field-value pairs: HSET key field1 value1 field2 value2 ...
-                        Map<String, String> fieldValues = new HashMap<>();
-                        for (int i = 1; i < args.length; i += 2) {
-                            fieldValues.put(args[i], args[i + 1]);
+                        return new RedisCommand(command.getCommand(), new String[] { args[0], args[1], args[2], "COUNT", Integer.toString(limit) });
+                    }
+                    if (args.length == 5 && "COUNT".equalsIgnoreCase(args[3]) && Long.parseLong(args[4]) > limit) {
+                        return new RedisCommand(command.getCommand(), new String[] { args[0], args[1], args[2], "COUNT", Integer.toString(limit) });
+                    }
+                    return command;
+                case "XREAD":
+                    for (int i = 0; i < args.length && !"STREAMS".equalsIgnoreCase(args[i]); i++) {
+                        if ("COUNT".equalsIgnoreCase(args[i]) && i + 1 < args.length) {
+                            if (Long.parseLong(args[i + 1]) <= limit) {
+                                return command;
+                            }
+                            String[] limited = args.clone();
+                            limited[i + 1] = Integer.toString(limit);
+                            return new RedisCommand(command.getCommand(), limited);
                         }
-                        result = jedis.hset(args[0], fieldValues);
-                    } else {
-                        throw new IllegalArgumentException("HSET command requires 3 arguments or odd number > 3");
                     }
-                    break;
-                case "HGET":
-                    result = jedis.hget(args[0], args[1]);
-                    break;
-                case "HGETALL":
-                    result = jedis.hgetAll(args[0]);
-                    break;
-                case "HDEL":
-                    String[] hdelArgs = new String[args.length - 1];
-                    System.arraycopy(args, 1, hdelArgs, 0, hdelArgs.length);
-                    result = jedis.hdel(args[0], hdelArgs);
-                    break;
-                case "LPUSH":
-                    String[] lpushArgs = new String[args.length - 1];
-                    System.arraycopy(args, 1, lpushArgs, 0, lpushArgs.length);
-                    result = jedis.lpush(args[0], lpushArgs);
-                    break;
-                case "RPUSH":
-                    String[] rpushArgs = new String[args.length - 1];
-                    System.arraycopy(args, 1, rpushArgs, 0, rpushArgs.length);
-                    result = jedis.rpush(args[0], rpushArgs);
-                    break;
-                case "LPOP":
-                    result = jedis.lpop(args[0]);
-                    break;
-                case "RPOP":
-                    result = jedis.rpop(args[0]);
-                    break;
-                case "LLEN":
-                    result = jedis.llen(args[0]);
-                    break;
-                case "LRANGE":
-                    result = jedis.lrange(args[0], Long.parseLong(args[1]), Long.parseLong(args[2]));
-                    break;
-                case "SADD":
-                    String[] saddArgs = new String[args.length - 1];
-                    System.arraycopy(args, 1, saddArgs, 0, saddArgs.length);
-                    result = jedis.sadd(args[0], saddArgs);
-                    break;
-                case "SMEMBERS":
-                    result = jedis.smembers(args[0]);
-                    break;
-                case "SREM":
-                    String[] sremArgs = new String[args.length - 1];
-                    System.arraycopy(args, 1, sremArgs, 0, sremArgs.length);
-                    result = jedis.srem(args[0], sremArgs);
-                    break;
-                case "SCARD":
-                    result = jedis.scard(args[0]);
-                    break;
-                case "ZADD":
-                    if (args.length == 3) {
-                        result = jedis.zadd(args[0], Double.parseDouble(args[1]), args[2]);
-                    } else {
-                        // Multiple score-member pairs
-                        java.util.Map<String, Double> scoreMembers = new java.util.HashMap<>();
-                        for (int i = 1; i < args.length; i += 2) {
-                            scoreMembers.put(args[i + 1], Double.parseDouble(args[i]));
+                    String[] counted = new String[args.length + 2];
+                    counted[0] = "COUNT";
+                    counted[1] = Integer.toString(limit);
+                    System.arraycopy(args, 0, counted, 2, args.length);
+                    return new RedisCommand(command.getCommand(), counted);
+                case "ZRANGEBYSCORE":
+                case "ZREVRANGEBYSCORE":
+                case "ZRANGEBYLEX":
+                case "ZREVRANGEBYLEX":
+                    for (int i = 3; i < args.length; i++) {
+                        if ("LIMIT".equalsIgnoreCase(args[i]) && i + 2 < args.length) {
+                            long count = Long.parseLong(args[i + 2]);
+                            if (count >= 0 && count <= limit) {
+                                return command;
+                            }
+                            String[] limited = args.clone();
+                            limited[i + 2] = Integer.toString(limit);
+                            return new RedisCommand(command.getCommand(), limited);
                         }
-                        result = jedis.zadd(args[0], scoreMembers);
                     }
-                    break;
-                case "ZRANGE":
-                    result = jedis.zrange(args[0], Long.parseLong(args[1]), Long.parseLong(args[2]));
-                    break;
-                case "ZCARD":
-                    result = jedis.zcard(args[0]);
-                    break;
-                case "ZREM":
-                    String[] zremArgs = new String[args.length - 1];
-                    System.arraycopy(args, 1, zremArgs, 0, zremArgs.length);
-                    result = jedis.zrem(args[0], zremArgs);
-                    break;
-				case "XRANGE":
-					// XRANGE key start end [COUNT count]
-					if (args.length == 3) {
-						result = jedis.xrange(args[0], args[1], args[2]);
-					} else if (args.length == 5 && "COUNT".equalsIgnoreCase(args[3])) {
-						result = jedis.xrange(args[0], args[1], args[2], Integer.parseInt(args[4]));
-					} else {
-						throw new IllegalArgumentException("XRANGE requires: key start end [COUNT count]");
-					}
-					break;
-				case "XINFO":
-					// XINFO stream key
-					if (args.length == 2 && "STREAM".equalsIgnoreCase(args[0])) {
-						result = jedis.xinfoStream(args[1]);
-					} else {
-						throw new IllegalArgumentException("XINFO requires: STREAM key");
-					}
-					break;
-				default:
-					// For unknown commands, first try built-in enum; if absent (e.g., JSON.GET), send as raw command
-					try {
-						result = jedis.sendCommand(redis.clients.jedis.Protocol.Command.valueOf(commandName), args);
-					} catch (IllegalArgumentException e) {
-						result = jedis.sendCommand(new RawCommand(commandName), args);
-					}
-					break;
-            }
-
-            return new RedisResultSet(this, command, result, resultSetCounter.incrementAndGet());
-            
+                    if (args.length < 3) {
+                        return command;
+                    }
+                    String[] paged = Arrays.copyOf(args, args.length + 3);
+                    paged[args.length] = "LIMIT";
+                    paged[args.length + 1] = "0";
+                    paged[args.length + 2] = Integer.toString(limit);
+                    return new RedisCommand(command.getCommand(), paged);
+                default:
+                    return command;
+            }
+        } catch (NumberFormatException e) {
+            // Leave malformed arguments for the server to report
+            return command;
+        }
+    }
+
+    int getMaxRowsLimit() {
+        return maxRows;
+    }
+
+    private RedisResultSet executeRedisCommand(RedisCommand command) throws SQLException {
+        RedisMetrics metrics = connection.getMetrics();
+        if (metrics == null) {
+            return runRedisCommand(command);
+        }
+        
+        poolWaitNanos = 0;
+        long start = System.nanoTime();
+        try {
+            RedisResultSet rs = runRedisCommand(command);
+            Object reply = rs.getReply();
+            metrics.record(command.getCommand(), System.nanoTime() - start, poolWaitNanos,
+                RedisMetrics.requestSize(command), reply != null ? RedisMetrics.replySize(reply) : 0,
+                rs.getMaterializedRowCount(), null);
+            return rs;
+        } catch (SQLException e) {
+            metrics.record(command.getCommand(), System.nanoTime() - start, poolWaitNanos,
+                RedisMetrics.requestSize(command), 0, -1, e);
+            throw e;
+        }
+    }
+
+    private RedisResultSet runRedisCommand(RedisCommand command) throws SQLException {
+        if (connection.isScanForKeys() && "KEYS".equalsIgnoreCase(command.getCommand())) {
+            // Incremental SCAN instead of KEYS, which blocks the server for the whole keyspace walk
+            if (command.getArgs().length != 1) {
+                throw new SQLException("KEYS requires a pattern");
+            }
+            RedisCursor scan = new RedisScanCursor(this, "SCAN", null, command.getArgs()[0],
+                connection.getScanCount(), maxRows);
+            return new RedisResultSet(this, command, scan, Arrays.asList("value"), resultSetCounter.incrementAndGet());
+        }
+        
+        if (maxRows > 0 && !command.isBinary()) {
+            command = limitRows(command, maxRows);
+        }
+        
+        if (fetchSize > 0 && !command.isBinary() && !connection.isBinary() && !connection.isTransactionOpen()) {
+            RedisResultSet streamed = executeStreaming(command);
+            if (streamed != null) {
+                return streamed;
+            }
+        }
+        
+        if (connection.isCluster() && command.getKey() == null && isKeyspaceCommand(command)) {
+            return new RedisResultSet(this, command, broadcast(command), resultSetCounter.incrementAndGet());
+        }
+        
+        RedisNearCache nearCache = connection.getNearCache();
+        if (nearCache != null && !connection.isBinary() && RedisNearCache.isCacheable(command)) {
+            RedisCommand read = command;
+            try {
+                Object cached = nearCache.get(read, loader -> invokeTracked(loader, read));
+                if (cached != RedisNearCache.BYPASS) {
+                    return new RedisResultSet(this, command, cached, resultSetCounter.incrementAndGet());
+                }
+            } catch (JedisException e) {
+                throw new SQLException("Redis command failed: " + e.getMessage(), e);
+            }
+        }
+        
+        for (int attempt = 1; ; attempt++) {
+            long borrowStart = System.nanoTime();
+            try (Jedis jedis = connection.getJedis(command)) {
+                poolWaitNanos += System.nanoTime() - borrowStart;
+                Object result = invokeTracked(jedis, command);
+                if (nearCache != null) {
+                    // Read-your-writes: don't wait for the server's invalidation message
+                    nearCache.invalidateWritten(command);
+                }
+                return new RedisResultSet(this, command, result, resultSetCounter.incrementAndGet());
+            } catch (JedisMovedDataException e) {
+                // Slot migrated permanently: reload the slot map and retry on the new owner
+                if (!connection.isCluster() || attempt >= connection.getMaxRedirections()) {
+                    throw new SQLException("Redis command failed: " + e.getMessage(), e);
+                }
+                connection.renewClusterSlots();
+            } catch (JedisAskDataException e) {
+                // Slot is being migrated: ask the importing node once, without touching the slot map
+                try (Jedis jedis = connection.getJedis(e.getTargetNode())) {
+                    jedis.asking();
+                    Object result = invokeTracked(jedis, command);
+                    return new RedisResultSet(this, command, result, resultSetCounter.incrementAndGet());
+                } catch (JedisException askError) {
+                    throw new SQLException("Redis command failed: " + askError.getMessage(), askError);
+                }
+            } catch (JedisException e) {
+                throw new SQLException("Redis command failed: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Whether the command acts on the whole keyspace of a node, so that in cluster mode it
+     * has to run on every master instead of an arbitrary node.
+     */
+    private static boolean isKeyspaceCommand(RedisCommand command) {
+        switch (command.getCommand().toUpperCase()) {
+            case "KEYS":
+            case "DBSIZE":
+            case "FLUSHDB":
+            case "FLUSHALL":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Run a keyspace-wide command on every cluster master and merge the replies:
+     * key lists are concatenated, counts added up, and status replies such as OK
+     * are returned as given by the last node.
+     */
+    private Object broadcast(RedisCommand command) throws SQLException {
+        Object merged = null;
+        for (HostAndPort master : connection.getClusterMasters()) {
+            long borrowStart = System.nanoTime();
+            try (Jedis jedis = connection.getJedis(master)) {
+                poolWaitNanos += System.nanoTime() - borrowStart;
+                merged = merge(merged, invokeTracked(jedis, command));
+            } catch (JedisException e) {
+                throw new SQLException("Redis command failed on " + master + ": " + e.getMessage(), e);
+            }
+        }
+        return merged;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object merge(Object merged, Object reply) {
+        if (reply instanceof Collection) {
+            Collection<Object> items = merged instanceof Collection ? (Collection<Object>) merged
+                : reply instanceof Set ? new LinkedHashSet<>() : new ArrayList<>();
+            items.addAll((Collection<?>) reply);
+            return items;
+        }
+        if (reply instanceof Long && merged instanceof Long) {
+            return (Long) merged + (Long) reply;
+        }
+        return reply;
+    }
+
+    /**
+     * Run XREAD and flatten the per-stream replies into one list of entries, in stream order.
+     */
+    private static List<StreamEntry> xread(Jedis jedis, String[] args) {
+        XReadParams params = XReadParams.xReadParams();
+        int i = 0;
+        while (i < args.length && !"STREAMS".equalsIgnoreCase(args[i])) {
+            if ("COUNT".equalsIgnoreCase(args[i]) && i + 1 < args.length) {
+                params.count(Integer.parseInt(args[++i]));
+            } else if ("BLOCK".equalsIgnoreCase(args[i]) && i + 1 < args.length) {
+                params.block(Integer.parseInt(args[++i]));
+            } else {
+                throw new IllegalArgumentException("XREAD requires: [COUNT count] [BLOCK milliseconds] STREAMS key [key ...] id [id ...]");
+            }
+            i++;
+        }
+        int streams = (args.length - i - 1) / 2;
+        if (i == args.length || streams == 0 || (args.length - i - 1) % 2 != 0) {
+            throw new IllegalArgumentException("XREAD requires: [COUNT count] [BLOCK milliseconds] STREAMS key [key ...] id [id ...]");
+        }
+        
+        Map<String, StreamEntryID> ids = new LinkedHashMap<>();
+        for (int s = 0; s < streams; s++) {
+            ids.put(args[i + 1 + s], parseStreamId(args[i + 1 + streams + s]));
+        }
+        
+        List<Map.Entry<String, List<StreamEntry>>> reply = jedis.xread(params, ids);
+        List<StreamEntry> entries = new ArrayList<>();
+        if (reply != null) {
+            for (Map.Entry<String, List<StreamEntry>> stream : reply) {
+                entries.addAll(stream.getValue());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Parse a stream ID argument, accepting "$" and IDs without a sequence part ("0", "1526919030474").
+     */
+    static StreamEntryID parseStreamId(String id) {
+        if ("$".equals(id)) {
+            return StreamEntryID.LAST_ENTRY;
+        }
+        if (id.indexOf('-') < 0) {
+            return new StreamEntryID(Long.parseLong(id));
+        }
+        return new StreamEntryID(id);
+    }
+
+    /**
+     * Pair up a flat field/value reply so it gets the same field/value columns as the String API's map.
+     */
+    private static Map<Object, Object> toFieldMap(List<?> reply) {
+        Map<Object, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < reply.size(); i += 2) {
+            fields.put(reply.get(i), reply.get(i + 1));
+        }
+        return fields;
+    }
+
+    boolean isBinary() {
+        return connection.isBinary();
+    }
+
+    /**
+     * Run a command on a borrowed connection, registered so that cancel() and the query
+     * timeout can abort it.
+     */
+    private Object invokeTracked(Jedis jedis, RedisCommand command) throws SQLException {
+        return track(jedis, command, tracked -> invoke(tracked, command));
+    }
+
+    /**
+     * Work done on a borrowed connection by {@link #track}.
+     */
+    interface TrackedCall<T> {
+        T call(Jedis jedis) throws SQLException;
+    }
+
+    /**
+     * Run work on a borrowed connection, registered so that cancel() and the query timeout
+     * can abort it. Also used by cursors for each window and by the near cache for loads.
+     *
+     * @param command the command being run, or null for pipelines and cursor windows
+     */
+    <T> T track(Jedis jedis, RedisCommand command, TrackedCall<T> call) throws SQLException {
+        int soTimeout = beginExecution(jedis, command);
+        try {
+            return call.call(jedis);
         } catch (JedisException e) {
-            throw new SQLException("Redis command failed: " + e.getMessage(), e);
+            SQLException interrupted = interruption(e);
+            if (interrupted != null) {
+                throw interrupted;
+            }
+            throw e;
+        } finally {
+            endExecution(jedis, soTimeout);
+        }
+    }
+
+    /**
+     * Register the command about to run on the given connection so that cancel() and the
+     * query timeout can reach it, and return the socket timeout to restore afterwards.
+     * Blocking commands are read without a socket timeout, since their own timeout argument
+     * bounds them and cancelling unblocks them server-side; for other commands a query timeout
+     * also becomes the socket read timeout. Inside MULTI commands are only queued, so none blocks.
+     */
+    private int beginExecution(Jedis jedis, RedisCommand command) {
+        cancelled = false;
+        timedOut = false;
+        
+        redis.clients.jedis.Connection socket = jedis.getConnection();
+        int soTimeout = socket.getSoTimeout();
+        long clientId = -1;
+        HostAndPort node = null;
+        if (command != null && command.isBlocking() && !connection.isTransactionOpen()) {
+            // The id lets CLIENT UNBLOCK release the command from another connection to the
+            // same node; asked for outside the map's lock, which all statements share
+            Long cached = CLIENT_IDS.get(socket);
+            if (cached == null) {
+                cached = jedis.clientId();
+                CLIENT_IDS.put(socket, cached);
+            }
+            clientId = cached;
+            node = connection.getNode(jedis);
+            socket.setTimeoutInfinite();
+        } else if (queryTimeout > 0) {
+            socket.setSoTimeout((int) Math.min(queryTimeout * 1000L, Integer.MAX_VALUE));
+        }
+        
+        synchronized (executionLock) {
+            executing = jedis;
+            executingClientId = clientId;
+            executingNode = node;
+            executionCount++;
+            if (queryTimeout > 0) {
+                timeoutTask = TIMEOUTS.schedule(() -> abort(true), queryTimeout, TimeUnit.SECONDS);
+            }
+        }
+        return soTimeout;
+    }
+
+    private void endExecution(Jedis jedis, int soTimeout) {
+        synchronized (executionLock) {
+            if (timeoutTask != null) {
+                timeoutTask.cancel(false);
+                timeoutTask = null;
+            }
+            executing = null;
+            executingClientId = -1;
+            executingNode = null;
+        }
+        
+        redis.clients.jedis.Connection socket = jedis.getConnection();
+        if (socket.isConnected() && !socket.isBroken()) {
+            try {
+                socket.setSoTimeout(soTimeout);
+            } catch (JedisException e) {
+                // The connection is marked broken and will be discarded by the pool
+            }
+        } else {
+            // A reconnect would get a new client id
+            CLIENT_IDS.remove(socket);
+        }
+    }
+
+    /**
+     * Abort the command in flight, if any. A blocked command is released with CLIENT UNBLOCK
+     * from a separate connection, which leaves its socket usable; anything else has its socket
+     * closed, which fails the pending read and makes the pool discard the connection. Nothing
+     * that can block runs under the execution lock, which the executing thread needs to finish.
+     */
+    private void abort(boolean timeout) {
+        Jedis target;
+        long clientId;
+        HostAndPort node;
+        long execution;
+        synchronized (executionLock) {
+            if (executing == null) {
+                return;
+            }
+            if (timeout) {
+                timedOut = true;
+            } else {
+                cancelled = true;
+            }
+            target = executing;
+            clientId = executingClientId;
+            node = executingNode;
+            execution = executionCount;
+            if (clientId < 0) {
+                // Under the lock, so that the connection cannot go back to the pool as healthy first
+                target.getConnection().setBroken();
+            }
         }
+        
+        if (clientId >= 0) {
+            // Outside the lock, so that a slow or unreachable server cannot hold up the
+            // executing thread or the timeout scheduler for longer than the control timeout
+            try (Jedis control = connection.openControlJedis(node)) {
+                if (control.clientUnblock(clientId, UnblockType.ERROR) == 1) {
+                    return;
+                }
+            } catch (SQLException | JedisException e) {
+                // Fall back to closing the socket
+            }
+            synchronized (executionLock) {
+                if (executing != target || executionCount != execution) {
+                    return;
+                }
+                target.getConnection().setBroken();
+            }
+        }
+        disconnect(target);
+    }
+
+    /**
+     * Close the socket of an aborted connection, which fails its pending read. The connection
+     * was marked broken first, so the pool discards it rather than reusing it once the aborted
+     * call returns. The command was already flushed, so closing does not wait on a stalled server.
+     */
+    private static void disconnect(Jedis jedis) {
+        try {
+            jedis.getConnection().disconnect();
+        } catch (JedisException e) {
+            // Already closed
+        }
+    }
+
+    /**
+     * The exception to report when a Jedis failure was caused by cancel() or the query timeout
+     * (including a socket read timeout), or null for other failures.
+     */
+    private SQLException interruption(JedisException e) {
+        if (cancelled) {
+            return new SQLException("Statement was cancelled", e);
+        }
+        if (timedOut || (queryTimeout > 0 && e.getCause() instanceof java.net.SocketTimeoutException)) {
+            return new SQLTimeoutException("Query timed out after " + queryTimeout + " seconds", e);
+        }
+        return null;
+    }
+
+    private Object invoke(Jedis jedis, RedisCommand command) {
+        String commandName = command.getCommand().toUpperCase();
+        boolean succeeded = false;
+        try {
+            Object result = invokeCommand(jedis, command, commandName);
+            succeeded = true;
+            return result;
+        } finally {
+            connection.trackTransaction(jedis, commandName, succeeded);
+        }
+    }
+
+    private Object invokeCommand(Jedis jedis, RedisCommand command, String commandName) {
+        String[] args = command.getArgs();
+        
+        if (connection.isTransactionOpen()) {
+            // Inside MULTI the server answers QUEUED, which the typed API cannot parse;
+            // the real replies come back as EXEC's array
+            return jedis.sendCommand(protocolCommand(commandName), command.getBinaryArgs());
+        }
+        
+        if (command.isBinary() || connection.isBinary()) {
+            // Raw parameter bytes must reach the server untouched, and in binary mode replies
+            // stay as the bytes read off the socket, so bypass the typed String API
+            Object reply = jedis.sendCommand(protocolCommand(commandName), command.getBinaryArgs());
+            if ("HGETALL".equals(commandName) && reply instanceof List) {
+                return toFieldMap((List<?>) reply);
+            }
+            return reply;
+        }
+        
+        Object result;
+        
+        switch (commandName) {
+            case "GET":
+                result = jedis.get(args[0]);
+                break;
+            case "SET":
+                if (args.length == 2) {
+                    result = jedis.set(args[0], args[1]);
+                } else if (args.length == 4) {
+                    // SET key value EX seconds
+                    result = jedis.setex(args[0], Long.parseLong(args[3]), args[1]);
+                } else {
+                    throw new IllegalArgumentException("SET command requires 2 or 4 arguments");
+                }
+                break;
+            case "DEL":
+                result = jedis.del(args);
+                break;
+            case "EXISTS":
+                result = jedis.exists(args);
+                break;
+            case "KEYS":
+                result = jedis.keys(args[0]);
+                break;
+            case "TYPE":
+                result = jedis.type(args[0]);
+                break;
+            case "TTL":
+                result = jedis.ttl(args[0]);
+                break;
+            case "EXPIRE":
+                result = jedis.expire(args[0], Integer.parseInt(args[1]));
+                break;
+            case "PERSIST":
+                result = jedis.persist(args[0]);
+                break;
+            case "PING":
+                result = jedis.ping();
+                break;
+            case "INFO":
+                result = jedis.info(args.length > 0 ? args[0] : null);
+                break;
+            case "DBSIZE":
+                result = jedis.dbSize();
+                break;
+            case "FLUSHDB":
+                result = jedis.flushDB();
+                break;
+            case "FLUSHALL":
+                result = jedis.flushAll();
+                break;
+            case "SELECT":
+                result = jedis.select(Integer.parseInt(args[0]));
+                break;
+            case "HSET":
+                if (args.length == 3) {
+                    result = jedis.hset(args[0], args[1], args[2]);
+                } else if (args.length > 3 && args.length % 2 == 1) {
+                    // Multiple field-value pairs: HSET key field1 value1 field2 value2 ...
+                    Map<String, String> fieldValues = new HashMap<>();
+                    for (int i = 1; i < args.length; i += 2) {
+                        fieldValues.put(args[i], args[i + 1]);
+                    }
+                    result = jedis.hset(args[0], fieldValues);
+                } else {
+                    throw new IllegalArgumentException("HSET command requires 3 arguments or odd number > 3");
+                }
+                break;
+            case "HGET":
+                result = jedis.hget(args[0], args[1]);
+                break;
+            case "HGETALL":
+                result = jedis.hgetAll(args[0]);
+                break;
+            case "HDEL":
+                String[] hdelArgs = new String[args.length - 1];
+                System.arraycopy(args, 1, hdelArgs, 0, hdelArgs.length);
+                result = jedis.hdel(args[0], hdelArgs);
+                break;
+            case "LPUSH":
+                String[] lpushArgs = new String[args.length - 1];
+                System.arraycopy(args, 1, lpushArgs, 0, lpushArgs.length);
+                result = jedis.lpush(args[0], lpushArgs);
+                break;
+            case "RPUSH":
+                String[] rpushArgs = new String[args.length - 1];
+                System.arraycopy(args, 1, rpushArgs, 0, rpushArgs.length);
+                result = jedis.rpush(args[0], rpushArgs);
+                break;
+            case "LPOP":
+                result = jedis.lpop(args[0]);
+                break;
+            case "RPOP":
+                result = jedis.rpop(args[0]);
+                break;
+            case "LLEN":
+                result = jedis.llen(args[0]);
+                break;
+            case "LRANGE":
+                result = jedis.lrange(args[0], Long.parseLong(args[1]), Long.parseLong(args[2]));
+                break;
+            case "SADD":
+                String[] saddArgs = new String[args.length - 1];
+                System.arraycopy(args, 1, saddArgs, 0, saddArgs.length);
+                result = jedis.sadd(args[0], saddArgs);
+                break;
+            case "SMEMBERS":
+                result = jedis.smembers(args[0]);
+                break;
+            case "SREM":
+                String[] sremArgs = new String[args.length - 1];
+                System.arraycopy(args, 1, sremArgs, 0, sremArgs.length);
+                result = jedis.srem(args[0], sremArgs);
+                break;
+            case "SCARD":
+                result = jedis.scard(args[0]);
+                break;
+            case "ZADD":
+                if (args.length == 3) {
+                    result = jedis.zadd(args[0], Double.parseDouble(args[1]), args[2]);
+                } else {
+                    // Multiple score-member pairs
+                    java.util.Map<String, Double> scoreMembers = new java.util.HashMap<>();
+                    for (int i = 1; i < args.length; i += 2) {
+                        scoreMembers.put(args[i + 1], Double.parseDouble(args[i]));
+                    }
+                    result = jedis.zadd(args[0], scoreMembers);
+                }
+                break;
+            case "ZRANGE":
+                result = jedis.zrange(args[0], Long.parseLong(args[1]), Long.parseLong(args[2]));
+                break;
+            case "ZCARD":
+                result = jedis.zcard(args[0]);
+                break;
+            case "ZREM":
+                String[] zremArgs = new String[args.length - 1];
+                System.arraycopy(args, 1, zremArgs, 0, zremArgs.length);
+                result = jedis.zrem(args[0], zremArgs);
+                break;
+			case "XRANGE":
+				// XRANGE key start end [COUNT count]
+				if (args.length == 3) {
+					result = jedis.xrange(args[0], args[1], args[2]);
+				} else if (args.length == 5 && "COUNT".equalsIgnoreCase(args[3])) {
+					result = jedis.xrange(args[0], args[1], args[2], Integer.parseInt(args[4]));
+				} else {
+					throw new IllegalArgumentException("XRANGE requires: key start end [COUNT count]");
+				}
+				break;
+			case "XREVRANGE":
+				// XREVRANGE key end start [COUNT count]
+				if (args.length == 3) {
+					result = jedis.xrevrange(args[0], args[1], args[2]);
+				} else if (args.length == 5 && "COUNT".equalsIgnoreCase(args[3])) {
+					result = jedis.xrevrange(args[0], args[1], args[2], Integer.parseInt(args[4]));
+				} else {
+					throw new IllegalArgumentException("XREVRANGE requires: key end start [COUNT count]");
+				}
+				break;
+			case "XREAD":
+				// XREAD [COUNT count] [BLOCK milliseconds] STREAMS key [key ...] id [id ...]
+				result = xread(jedis, args);
+				break;
+			case "XINFO":
+				// XINFO stream key
+				if (args.length == 2 && "STREAM".equalsIgnoreCase(args[0])) {
+					result = jedis.xinfoStream(args[1]);
+				} else {
+					throw new IllegalArgumentException("XINFO requires: STREAM key");
+				}
+				break;
+			default:
+				// For unknown commands, first try built-in enum; if absent (e.g., JSON.GET), send as raw command
+				result = jedis.sendCommand(protocolCommand(commandName), args);
+				break;
+        }
+
+        return result;
     }
 }
@@ -0,0 +1,144 @@
+package com.synehq.jdbc.redis;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.params.XReadParams;
+import redis.clients.jedis.resps.StreamEntry;
+import redis.clients.jedis.util.Pool;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cursor over stream entries (XRANGE, XREVRANGE and non-blocking XREAD on a single stream).
+ * Entries are read {@code COUNT windowSize} at a time, each window continuing
+ * right after the last ID returned by the previous one.
+ */
+public class RedisStreamCursor implements RedisCursor {
+
+    private final RedisStatement statement;
+    private final RedisConnection connection;
+    private final String command;
+    private final String key;
+    private final String end;
+    private final int windowSize;
+    private String start;
+    private long remaining;
+    private boolean finished = false;
+    private Pool<Jedis> node;
+    private boolean routed;
+
+    /**
+     * @param command XRANGE, XREVRANGE or XREAD
+     * @param start   first bound in the command's own argument order: the lower bound for XRANGE,
+     *                the upper bound for XREVRANGE, the exclusive ID to read after for XREAD
+     * @param end     second bound (unused for XREAD)
+     * @param limit   overall COUNT requested by the caller, or a negative value for no limit
+     */
+    public RedisStreamCursor(RedisStatement statement, String command, String key, String start, String end,
+                             int windowSize, long limit) {
+        this.statement = statement;
+        this.connection = statement.getRedisConnection();
+        this.command = command;
+        this.key = key;
+        this.start = start;
+        this.end = end;
+        this.windowSize = windowSize;
+        this.remaining = limit < 0 ? Long.MAX_VALUE : limit;
+    }
+
+    @Override
+    public List<?> fetchNext() throws SQLException {
+        if (finished) {
+            return Collections.emptyList();
+        }
+
+        int count = (int) Math.min(windowSize, remaining);
+        try (Jedis jedis = borrow()) {
+            List<StreamEntry> window = statement.track(jedis, null, tracked -> read(tracked, count));
+
+            remaining -= window.size();
+            if (window.size() < count || remaining <= 0) {
+                finished = true;
+            } else {
+                StreamEntryID last = window.get(window.size() - 1).getID();
+                if ("XREVRANGE".equals(command)) {
+                    StreamEntryID previous = previousId(last);
+                    finished = previous == null;
+                    start = previous != null ? previous.toString() : start;
+                } else if ("XREAD".equals(command)) {
+                    // XREAD already reads strictly after the given ID
+                    start = last.toString();
+                } else {
+                    start = nextId(last).toString();
+                }
+            }
+            return window;
+        } catch (JedisException e) {
+            throw new SQLException("Redis command failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean hasMore() {
+        return !finished;
+    }
+
+    /**
+     * Borrow a connection to the node chosen for this cursor on its first window.
+     */
+    private Jedis borrow() throws SQLException {
+        if (!routed) {
+            node = connection.getReadPool();
+            routed = true;
+        }
+        return node != null ? node.getResource() : connection.getReadJedis(key);
+    }
+
+    private List<StreamEntry> read(Jedis jedis, int count) {
+        switch (command) {
+            case "XREVRANGE":
+                return jedis.xrevrange(key, start, end, count);
+            case "XREAD":
+                return xread(jedis, count);
+            default:
+                return jedis.xrange(key, start, end, count);
+        }
+    }
+
+    private List<StreamEntry> xread(Jedis jedis, int count) {
+        List<Map.Entry<String, List<StreamEntry>>> reply = jedis.xread(XReadParams.xReadParams().count(count),
+            Collections.singletonMap(key, RedisStatement.parseStreamId(start)));
+        if (reply == null || reply.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return reply.get(0).getValue();
+    }
+
+    /**
+     * Smallest ID strictly greater than the given one; works on servers
+     * that predate exclusive "(" ranges.
+     */
+    private static StreamEntryID nextId(StreamEntryID id) {
+        if (id.getSequence() == Long.MAX_VALUE) {
+            return new StreamEntryID(id.getTime() + 1, 0);
+        }
+        return new StreamEntryID(id.getTime(), id.getSequence() + 1);
+    }
+
+    /**
+     * Largest ID strictly smaller than the given one, or null for the minimum ID.
+     */
+    private static StreamEntryID previousId(StreamEntryID id) {
+        if (id.getSequence() > 0) {
+            return new StreamEntryID(id.getTime(), id.getSequence() - 1);
+        }
+        if (id.getTime() > 0) {
+            return new StreamEntryID(id.getTime() - 1, Long.MAX_VALUE);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,130 @@
+package com.synehq.jdbc.redis;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+
+/**
+ * Driver-wide TLS contexts for the {@code ssl} property. Every pooled socket of
+ * every connection is created from the same {@link SSLContext}, whose client session
+ * cache is keyed by host and port, so sockets opened after the first one to a server
+ * resume its TLS session instead of performing a full handshake. Client certificates
+ * for mutual TLS come from the JVM's key store ({@code javax.net.ssl.keyStore}).
+ */
+final class RedisTls {
+
+    /**
+     * Sessions kept per context and how long they may be resumed.
+     */
+    private static final int SESSION_CACHE_SIZE = 1024;
+    private static final int SESSION_TIMEOUT_SECONDS = 24 * 60 * 60;
+
+    private static SSLContext verifying;
+    private static SSLContext trustingAll;
+
+    private RedisTls() {
+    }
+
+    /**
+     * The shared socket factory; with {@code verify} false, any server certificate is accepted.
+     */
+    static SSLSocketFactory socketFactory(boolean verify) {
+        return context(verify).getSocketFactory();
+    }
+
+    /**
+     * Handshake parameters: the context's defaults, plus hostname verification against
+     * the certificate when {@code verify} is true.
+     */
+    static SSLParameters parameters(boolean verify) {
+        SSLParameters parameters = context(verify).getDefaultSSLParameters();
+        if (verify) {
+            parameters.setEndpointIdentificationAlgorithm("HTTPS");
+        }
+        return parameters;
+    }
+
+    private static synchronized SSLContext context(boolean verify) {
+        try {
+            if (verify) {
+                if (verifying == null) {
+                    // The JVM's default context, with its key and trust stores; only its session cache is tuned
+                    verifying = withSessionCache(SSLContext.getDefault());
+                }
+                return verifying;
+            }
+            if (trustingAll == null) {
+                SSLContext context = SSLContext.getInstance("TLS");
+                context.init(defaultKeyManagers(), new TrustManager[] { new TrustAllManager() }, null);
+                trustingAll = withSessionCache(context);
+            }
+            return trustingAll;
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Failed to initialize TLS: " + e.getMessage(), e);
+        }
+    }
+
+    private static SSLContext withSessionCache(SSLContext context) {
+        SSLSessionContext sessions = context.getClientSessionContext();
+        sessions.setSessionCacheSize(SESSION_CACHE_SIZE);
+        sessions.setSessionTimeout(SESSION_TIMEOUT_SECONDS);
+        return context;
+    }
+
+    /**
+     * Key managers for the key store named by the {@code javax.net.ssl.keyStore} system
+     * properties, which the default context reads the same way, or null if none is set.
+     */
+    static KeyManager[] defaultKeyManagers() throws GeneralSecurityException, IOException {
+        String path = System.getProperty("javax.net.ssl.keyStore", "");
+        if (path.isEmpty()) {
+            return null;
+        }
+        String type = System.getProperty("javax.net.ssl.keyStoreType", KeyStore.getDefaultType());
+        String provider = System.getProperty("javax.net.ssl.keyStoreProvider", "");
+        String password = System.getProperty("javax.net.ssl.keyStorePassword");
+        char[] secret = password != null ? password.toCharArray() : null;
+        
+        KeyStore keyStore = provider.isEmpty() ? KeyStore.getInstance(type) : KeyStore.getInstance(type, provider);
+        if ("NONE".equals(path)) {
+            // E.g. a PKCS#11 token, which is not backed by a file
+            keyStore.load(null, secret);
+        } else {
+            try (InputStream in = new FileInputStream(path)) {
+                keyStore.load(in, secret);
+            }
+        }
+        KeyManagerFactory factory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        factory.init(keyStore, secret);
+        return factory.getKeyManagers();
+    }
+
+    /**
+     * Accepts every certificate, for {@code verifyServerCertificate=false}.
+     */
+    private static final class TrustAllManager implements X509TrustManager {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
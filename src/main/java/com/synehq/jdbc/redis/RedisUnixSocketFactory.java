@@ -0,0 +1,303 @@
+package com.synehq.jdbc.redis;
+
+import redis.clients.jedis.JedisSocketFactory;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.ProtocolFamily;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Opens Jedis connections over a Unix domain socket. The JDK supports AF_UNIX
+ * socket channels since Java 16; they are looked up reflectively so the driver
+ * still builds for Java 8 and only fails when such a URL is used on an older JVM.
+ * Jedis expects a {@link Socket}, which a Unix channel cannot provide, so the
+ * channel is wrapped in a minimal Socket that honours the read timeout.
+ */
+public class RedisUnixSocketFactory implements JedisSocketFactory {
+
+    private final String path;
+    private final int connectTimeout;
+    private final int soTimeout;
+
+    /**
+     * @param connectTimeout connect timeout in milliseconds, 0 for none
+     * @param soTimeout      initial read timeout in milliseconds, 0 for none
+     */
+    public RedisUnixSocketFactory(String path, int connectTimeout, int soTimeout) {
+        this.path = path;
+        this.connectTimeout = connectTimeout;
+        this.soTimeout = soTimeout;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public Socket createSocket() throws JedisConnectionException {
+        SocketChannel channel = null;
+        try {
+            channel = UnixChannels.open();
+            channel.configureBlocking(false);
+            if (!channel.connect(UnixChannels.address(path))) {
+                finishConnect(channel);
+            }
+            UnixSocket socket = new UnixSocket(channel);
+            socket.setSoTimeout(soTimeout);
+            return socket;
+        } catch (IOException e) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // Already failing
+                }
+            }
+            throw new JedisConnectionException("Failed to connect to Unix socket " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Wait for a pending connect, e.g. while the server's accept backlog is full, for at
+     * most the connect timeout.
+     */
+    private void finishConnect(SocketChannel channel) throws IOException {
+        long deadline = System.nanoTime() + connectTimeout * 1_000_000L;
+        try (Selector selector = Selector.open()) {
+            channel.register(selector, SelectionKey.OP_CONNECT);
+            while (!channel.finishConnect()) {
+                long remaining = (deadline - System.nanoTime()) / 1_000_000L;
+                if (connectTimeout > 0 && remaining <= 0) {
+                    throw new SocketTimeoutException("Connect timed out");
+                }
+                selector.select(connectTimeout > 0 ? remaining : 0);
+                selector.selectedKeys().clear();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "unix:" + path;
+    }
+
+    /**
+     * Reflective access to the Java 16 AF_UNIX API.
+     */
+    private static final class UnixChannels {
+        private static final ProtocolFamily UNIX;
+        private static final Method OPEN;
+        private static final Method ADDRESS_OF;
+
+        static {
+            ProtocolFamily family = null;
+            Method open = null;
+            Method addressOf = null;
+            try {
+                family = StandardProtocolFamily.valueOf("UNIX");
+                open = SocketChannel.class.getMethod("open", ProtocolFamily.class);
+                addressOf = Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class);
+            } catch (IllegalArgumentException | ReflectiveOperationException e) {
+                // Older JVM: reported when a Unix socket URL is used
+            }
+            UNIX = family;
+            OPEN = open;
+            ADDRESS_OF = addressOf;
+        }
+
+        private static SocketChannel open() throws IOException {
+            return (SocketChannel) invoke(OPEN, null, UNIX);
+        }
+
+        private static SocketAddress address(String path) throws IOException {
+            return (SocketAddress) invoke(ADDRESS_OF, null, path);
+        }
+
+        private static Object invoke(Method method, Object target, Object arg) throws IOException {
+            if (method == null) {
+                throw new JedisConnectionException("Unix domain sockets require Java 16 or later");
+            }
+            try {
+                return method.invoke(target, arg);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    /**
+     * Socket view of a connected Unix domain socket channel. The channel runs in
+     * non-blocking mode so that reads can wait on a selector with the socket timeout.
+     */
+    private static final class UnixSocket extends Socket {
+        private final SocketChannel channel;
+        private final Selector readSelector;
+        private final Selector writeSelector;
+        private final InputStream input = new ChannelInput();
+        private final OutputStream output = new ChannelOutput();
+        private volatile int timeout;
+
+        private UnixSocket(SocketChannel channel) throws IOException {
+            this.channel = channel;
+            channel.configureBlocking(false);
+            this.readSelector = Selector.open();
+            this.writeSelector = Selector.open();
+            channel.register(readSelector, SelectionKey.OP_READ);
+            channel.register(writeSelector, SelectionKey.OP_WRITE);
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return input;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return output;
+        }
+
+        @Override
+        public void setSoTimeout(int timeout) {
+            this.timeout = timeout;
+        }
+
+        @Override
+        public int getSoTimeout() {
+            return timeout;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return channel.isConnected();
+        }
+
+        @Override
+        public boolean isBound() {
+            return true;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return !channel.isOpen();
+        }
+
+        @Override
+        public boolean isInputShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isOutputShutdown() {
+            return false;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            // Closing the selectors wakes a reader blocked in select(), e.g. on cancel()
+            try {
+                channel.close();
+            } finally {
+                readSelector.close();
+                writeSelector.close();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "UnixSocket[" + channel + "]";
+        }
+
+        /**
+         * Wait until the selector reports the channel ready, returning false on timeout.
+         */
+        private boolean await(Selector selector, long timeoutMillis) throws IOException {
+            try {
+                int ready = timeoutMillis > 0 ? selector.select(timeoutMillis) : selector.select();
+                selector.selectedKeys().clear();
+                if (!channel.isOpen()) {
+                    throw new SocketException("Socket closed");
+                }
+                return ready > 0;
+            } catch (ClosedSelectorException e) {
+                throw new SocketException("Socket closed");
+            }
+        }
+
+        private final class ChannelInput extends InputStream {
+            @Override
+            public int read() throws IOException {
+                byte[] one = new byte[1];
+                int n = read(one, 0, 1);
+                return n < 0 ? -1 : one[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) {
+                    return 0;
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+                int soTimeout = timeout;
+                long deadline = soTimeout > 0 ? System.nanoTime() + soTimeout * 1_000_000L : 0;
+                while (true) {
+                    int n = channel.read(buffer);
+                    if (n != 0) {
+                        return n;
+                    }
+                    long remaining = soTimeout > 0 ? (deadline - System.nanoTime()) / 1_000_000L : 0;
+                    if (soTimeout > 0 && remaining <= 0) {
+                        throw new SocketTimeoutException("Read timed out");
+                    }
+                    await(readSelector, soTimeout > 0 ? Math.max(remaining, 1) : 0);
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                UnixSocket.this.close();
+            }
+        }
+
+        private final class ChannelOutput extends OutputStream {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+                while (buffer.hasRemaining()) {
+                    if (channel.write(buffer) == 0) {
+                        // Send buffer full: wait like a blocking socket would
+                        await(writeSelector, 0);
+                    }
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                UnixSocket.this.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.synehq.jdbc.redis;
+
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Minimal in-process RESP server for tests that need to see what the driver sends.
+ * Every command received is recorded; replies come from a responder that returns the
+ * raw RESP reply for a command, or null for the defaults (+OK, PONG for PING, a null
+ * bulk string for GET). Arguments and replies map each byte to one char (ISO-8859-1),
+ * so binary values the driver sends can be echoed back unchanged.
+ */
+class FakeRedisServer implements AutoCloseable {
+
+    private final ServerSocket server;
+    private final List<List<String>> commands = Collections.synchronizedList(new ArrayList<>());
+    private final List<Socket> clients = Collections.synchronizedList(new ArrayList<>());
+    private volatile Function<List<String>, String> responder = command -> null;
+    private volatile int connections;
+
+    FakeRedisServer() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "fake-redis-" + getPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return server.getLocalPort();
+    }
+
+    String getUrl() {
+        return "jdbc:redis://127.0.0.1:" + getPort() + "/0";
+    }
+
+    void respond(Function<List<String>, String> responder) {
+        this.responder = responder;
+    }
+
+    /**
+     * Number of client sockets accepted so far.
+     */
+    int getConnections() {
+        return connections;
+    }
+
+    /**
+     * The commands received so far, each as its upper-cased name followed by the arguments.
+     */
+    List<List<String>> getCommands() {
+        synchronized (commands) {
+            return new ArrayList<>(commands);
+        }
+    }
+
+    long count(String name) {
+        return getCommands().stream().filter(command -> command.get(0).equals(name)).count();
+    }
+
+    static String simple(String status) {
+        return "+" + status + "\r\n";
+    }
+
+    static String error(String message) {
+        return "-" + message + "\r\n";
+    }
+
+    static String integer(long value) {
+        return ":" + value + "\r\n";
+    }
+
+    static String bulk(String value) {
+        if (value == null) {
+            return "$-1\r\n";
+        }
+        return "$" + value.getBytes(StandardCharsets.ISO_8859_1).length + "\r\n" + value + "\r\n";
+    }
+
+    static String array(String... replies) {
+        return "*" + replies.length + "\r\n" + String.join("", replies);
+    }
+
+    /**
+     * One entry of a CLUSTER SLOTS reply: the slots from start to end served by the given server.
+     */
+    static String slots(int start, int end, FakeRedisServer owner) {
+        return array(integer(start), integer(end), array(bulk("127.0.0.1"), integer(owner.getPort())));
+    }
+
+    /**
+     * A key whose hash slot lies between the given bounds, inclusive.
+     */
+    static String keyInSlots(String prefix, int first, int last) {
+        for (int i = 0; ; i++) {
+            int slot = JedisClusterCRC16.getSlot(prefix + i);
+            if (slot >= first && slot <= last) {
+                return prefix + i;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        synchronized (clients) {
+            for (Socket client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                Socket client = server.accept();
+                connections++;
+                clients.add(client);
+                Thread handler = new Thread(() -> serve(client), "fake-redis-client");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try (Socket socket = client) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+            while (true) {
+                List<String> command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                commands.add(command);
+                String reply = responder.apply(command);
+                out.write((reply != null ? reply : defaultReply(command)).getBytes(StandardCharsets.ISO_8859_1));
+                out.flush();
+                if ("QUIT".equals(command.get(0))) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Client went away
+        }
+    }
+
+    private static String defaultReply(List<String> command) {
+        switch (command.get(0)) {
+            case "PING":
+                return simple("PONG");
+            case "GET":
+                return bulk(null);
+            default:
+                return simple("OK");
+        }
+    }
+
+    private static List<String> readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<String> command = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = Integer.parseInt(readLine(in).substring(1));
+            byte[] data = new byte[length + 2];
+            int read = 0;
+            while (read < data.length) {
+                int n = in.read(data, read, data.length - read);
+                if (n < 0) {
+                    return null;
+                }
+                read += n;
+            }
+            String argument = new String(data, 0, length, StandardCharsets.ISO_8859_1);
+            command.add(i == 0 ? argument.toUpperCase(Locale.ROOT) : argument);
+        }
+        return command;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\r') {
+                in.read();
+                return line.toString();
+            }
+            line.append((char) c);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,272 @@
+package com.synehq.jdbc.redis;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisAsyncExecutorTest {
+
+    private static RedisAsyncStatement async(Statement statement) throws SQLException {
+        return statement.unwrap(RedisAsyncStatement.class);
+    }
+
+    private static String value(CompletableFuture<ResultSet> future) throws Exception {
+        try (ResultSet rs = future.get(5, TimeUnit.SECONDS)) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+
+    /**
+     * The exception a future failed with.
+     */
+    private static Throwable failure(CompletableFuture<ResultSet> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        return e.getCause();
+    }
+
+    private static Properties threads(int threads) {
+        Properties properties = new Properties();
+        properties.setProperty("asyncThreads", String.valueOf(threads));
+        return properties;
+    }
+
+    /**
+     * Hold back a reply until the latch opens, as a server that never answers does.
+     */
+    private static String await(CountDownLatch latch, String reply) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return reply;
+    }
+
+    @Test
+    void repliesMatchCommandsInSubmissionOrder() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), threads(1));
+             Statement statement = connection.createStatement()) {
+            server.respond(command -> "GET".equals(command.get(0)) ? FakeRedisServer.bulk(command.get(1)) : null);
+
+            List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(async(statement).executeAsync("GET k" + i));
+            }
+            List<String> sent = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals("k" + i, value(futures.get(i)));
+                sent.add("k" + i);
+            }
+            List<String> received = new ArrayList<>();
+            for (List<String> command : server.getCommands()) {
+                if (command.get(0).equals("GET")) {
+                    received.add(command.get(1));
+                }
+            }
+            // A single worker sends them in the order they were submitted
+            assertEquals(sent, received);
+        }
+    }
+
+    @Test
+    void maxRowsIsPushedDown() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), new Properties());
+             Statement statement = connection.createStatement()) {
+            server.respond(command -> "LRANGE".equals(command.get(0))
+                ? FakeRedisServer.array(FakeRedisServer.bulk("a"), FakeRedisServer.bulk("b")) : null);
+            statement.setMaxRows(2);
+
+            assertEquals("a", value(async(statement).executeAsync("LRANGE l 0 -1")));
+            assertTrue(server.getCommands().contains(Arrays.asList("LRANGE", "l", "0", "1")));
+        }
+    }
+
+    @Test
+    void blockingCommandsAreRejected() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), new Properties());
+             Statement statement = connection.createStatement()) {
+            assertThrows(SQLException.class, () -> async(statement).executeAsync("BLPOP l 0"));
+            assertEquals(0, server.count("BLPOP"));
+        }
+    }
+
+    @Test
+    void readsFollowReadFrom() throws Exception {
+        try (FakeRedisServer primary = new FakeRedisServer();
+             FakeRedisServer replica = new FakeRedisServer()) {
+            primary.respond(command -> command.get(0).equals("INFO")
+                ? FakeRedisServer.bulk("# Replication\r\nrole:master\r\nconnected_slaves:1\r\n"
+                    + "slave0:ip=127.0.0.1,port=" + replica.getPort() + ",state=online,offset=1,lag=0\r\n")
+                : null);
+            replica.respond(command -> "GET".equals(command.get(0)) ? FakeRedisServer.bulk("from replica") : null);
+            Properties properties = new Properties();
+            properties.setProperty("readFrom", "replica");
+
+            try (Connection connection = new RedisConnection(primary.getUrl(), properties);
+                 Statement statement = connection.createStatement()) {
+                assertEquals("from replica", value(async(statement).executeAsync("GET k")));
+                async(statement).executeAsync("SET k v").get(5, TimeUnit.SECONDS).close();
+            }
+            assertEquals(0, primary.count("GET"));
+            assertEquals(1, primary.count("SET"));
+            assertEquals(0, replica.count("SET"));
+        }
+    }
+
+    @Test
+    void queryTimeoutFailsUnansweredCommand() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), new Properties());
+             Statement statement = connection.createStatement()) {
+            server.respond(command -> "GET".equals(command.get(0)) ? await(release, FakeRedisServer.bulk("late")) : null);
+            statement.setQueryTimeout(1);
+            try {
+                assertInstanceOf(SQLTimeoutException.class, failure(async(statement).executeAsync("GET k")));
+            } finally {
+                release.countDown();
+            }
+        }
+    }
+
+    @Test
+    void cancelFailsPendingCommands() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), threads(1));
+             Statement statement = connection.createStatement()) {
+            server.respond(command -> {
+                if (!"GET".equals(command.get(0))) {
+                    return null;
+                }
+                started.countDown();
+                return await(release, FakeRedisServer.bulk("late"));
+            });
+            try {
+                CompletableFuture<ResultSet> sent = async(statement).executeAsync("GET a");
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                // Queued behind the round in flight on the only worker
+                CompletableFuture<ResultSet> queued = async(statement).executeAsync("GET b");
+
+                statement.cancel();
+
+                assertTrue(failure(sent).getMessage().contains("cancelled"));
+                assertTrue(failure(queued).getMessage().contains("cancelled"));
+            } finally {
+                release.countDown();
+            }
+            // The cancelled command that was not sent yet never is
+            Thread.sleep(200);
+            assertEquals(1, server.count("GET"));
+        }
+    }
+
+    @Test
+    void shutdownFailsUnsentCommands() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (FakeRedisServer server = new FakeRedisServer()) {
+            server.respond(command -> {
+                if (!"GET".equals(command.get(0))) {
+                    return null;
+                }
+                started.countDown();
+                return await(release, FakeRedisServer.bulk("v"));
+            });
+            Connection connection = new RedisConnection(server.getUrl(), threads(1));
+            Statement statement = connection.createStatement();
+            try {
+                async(statement).executeAsync("GET a");
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                CompletableFuture<ResultSet> queued = async(statement).executeAsync("GET b");
+
+                connection.close();
+
+                assertTrue(failure(queued).getMessage().contains("closed before the command was sent"));
+                assertThrows(SQLException.class, () -> async(statement).executeAsync("GET c"));
+            } finally {
+                release.countDown();
+            }
+        }
+    }
+
+    /**
+     * Answer CLUSTER SLOTS with all slots on the current owner.
+     */
+    private static String slots(List<String> command, AtomicReference<FakeRedisServer> owner) {
+        return "CLUSTER".equals(command.get(0)) ? FakeRedisServer.array(FakeRedisServer.slots(0, 16383, owner.get())) : null;
+    }
+
+    private static String clusterUrl(FakeRedisServer seed) {
+        return "jdbc:redis:cluster://127.0.0.1:" + seed.getPort();
+    }
+
+    @Test
+    void movedCommandIsRequeuedAfterReloadingSlots() throws Exception {
+        try (FakeRedisServer first = new FakeRedisServer();
+             FakeRedisServer second = new FakeRedisServer()) {
+            AtomicReference<FakeRedisServer> owner = new AtomicReference<>(first);
+            first.respond(command -> {
+                if ("GET".equals(command.get(0))) {
+                    // The slot moved to the second node, which the slot map now reports too
+                    owner.set(second);
+                    return FakeRedisServer.error("MOVED 12539 127.0.0.1:" + second.getPort());
+                }
+                return slots(command, owner);
+            });
+            second.respond(command -> "GET".equals(command.get(0)) ? FakeRedisServer.bulk("moved") : slots(command, owner));
+
+            try (Connection connection = new RedisConnection(clusterUrl(first), new Properties());
+                 Statement statement = connection.createStatement()) {
+                assertEquals("moved", value(async(statement).executeAsync("GET k")));
+            }
+            assertEquals(1, first.count("GET"));
+            assertEquals(1, second.count("GET"));
+        }
+    }
+
+    @Test
+    void askedCommandGoesToImportingNodeOnce() throws Exception {
+        try (FakeRedisServer first = new FakeRedisServer();
+             FakeRedisServer second = new FakeRedisServer()) {
+            AtomicReference<FakeRedisServer> owner = new AtomicReference<>(first);
+            first.respond(command -> "GET".equals(command.get(0))
+                ? FakeRedisServer.error("ASK 12539 127.0.0.1:" + second.getPort()) : slots(command, owner));
+            second.respond(command -> "GET".equals(command.get(0)) ? FakeRedisServer.bulk("asked") : slots(command, owner));
+
+            try (Connection connection = new RedisConnection(clusterUrl(first), new Properties());
+                 Statement statement = connection.createStatement()) {
+                long slotReloads = first.count("CLUSTER");
+                assertEquals("asked", value(async(statement).executeAsync("GET k")));
+                // ASK leaves the slot map alone
+                assertEquals(slotReloads, first.count("CLUSTER"));
+            }
+            List<List<String>> received = second.getCommands();
+            int get = received.indexOf(Arrays.asList("GET", "k"));
+            assertEquals(Arrays.asList("ASKING"), received.get(get - 1));
+        }
+    }
+}
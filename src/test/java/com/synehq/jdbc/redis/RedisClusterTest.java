@@ -0,0 +1,189 @@
+package com.synehq.jdbc.redis;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisClusterTest {
+
+    private static String url(FakeRedisServer seed) {
+        return "jdbc:redis:cluster://127.0.0.1:" + seed.getPort();
+    }
+
+    /**
+     * Answer CLUSTER SLOTS with all slots on the current owner, and GET with the given value.
+     */
+    private static String node(List<String> command, AtomicReference<FakeRedisServer> owner, String value) {
+        switch (command.get(0)) {
+            case "CLUSTER":
+                return FakeRedisServer.array(FakeRedisServer.slots(0, 16383, owner.get()));
+            case "GET":
+                return FakeRedisServer.bulk(value);
+            default:
+                return null;
+        }
+    }
+
+    private static String get(Statement statement, String key) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("GET " + key)) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+
+    @Test
+    void keysAreRoutedToTheirSlotOwner() throws Exception {
+        try (FakeRedisServer low = new FakeRedisServer();
+             FakeRedisServer high = new FakeRedisServer()) {
+            for (FakeRedisServer server : Arrays.asList(low, high)) {
+                String value = server == low ? "low" : "high";
+                server.respond(command -> "CLUSTER".equals(command.get(0))
+                    ? FakeRedisServer.array(FakeRedisServer.slots(0, 8191, low), FakeRedisServer.slots(8192, 16383, high))
+                    : "GET".equals(command.get(0)) ? FakeRedisServer.bulk(value) : null);
+            }
+
+            try (Connection connection = new RedisConnection(url(low), new Properties());
+                 Statement statement = connection.createStatement()) {
+                assertEquals("low", get(statement, FakeRedisServer.keyInSlots("a", 0, 8191)));
+                assertEquals("high", get(statement, FakeRedisServer.keyInSlots("b", 8192, 16383)));
+            }
+            assertEquals(1, low.count("GET"));
+            assertEquals(1, high.count("GET"));
+        }
+    }
+
+    @Test
+    void movedReloadsTheSlotMapAndRetries() throws Exception {
+        try (FakeRedisServer first = new FakeRedisServer();
+             FakeRedisServer second = new FakeRedisServer()) {
+            AtomicReference<FakeRedisServer> owner = new AtomicReference<>(first);
+            first.respond(command -> {
+                if ("GET".equals(command.get(0))) {
+                    owner.set(second);
+                    return FakeRedisServer.error("MOVED 12539 127.0.0.1:" + second.getPort());
+                }
+                return node(command, owner, null);
+            });
+            second.respond(command -> node(command, owner, "moved"));
+
+            try (Connection connection = new RedisConnection(url(first), new Properties());
+                 Statement statement = connection.createStatement()) {
+                long slotLoads = first.count("CLUSTER") + second.count("CLUSTER");
+                assertEquals("moved", get(statement, "k"));
+                assertTrue(first.count("CLUSTER") + second.count("CLUSTER") > slotLoads);
+                // The reloaded map sends the next command straight to the new owner
+                assertEquals("moved", get(statement, "k"));
+            }
+            assertEquals(1, first.count("GET"));
+            assertEquals(2, second.count("GET"));
+        }
+    }
+
+    @Test
+    void askIsFollowedOnceWithoutReloadingTheSlotMap() throws Exception {
+        try (FakeRedisServer first = new FakeRedisServer();
+             FakeRedisServer second = new FakeRedisServer()) {
+            AtomicReference<FakeRedisServer> owner = new AtomicReference<>(first);
+            first.respond(command -> "GET".equals(command.get(0)) && "migrating".equals(command.get(1))
+                ? FakeRedisServer.error("ASK 12539 127.0.0.1:" + second.getPort())
+                : node(command, owner, "first"));
+            second.respond(command -> node(command, owner, "second"));
+
+            try (Connection connection = new RedisConnection(url(first), new Properties());
+                 Statement statement = connection.createStatement()) {
+                long slotLoads = first.count("CLUSTER");
+                assertEquals("second", get(statement, "migrating"));
+                assertEquals(slotLoads, first.count("CLUSTER"));
+                // The slot still belongs to the first node for other keys
+                assertEquals("first", get(statement, "k"));
+            }
+            List<List<String>> received = second.getCommands();
+            int get = received.indexOf(Arrays.asList("GET", "migrating"));
+            assertEquals(Arrays.asList("ASKING"), received.get(get - 1));
+            assertEquals(1, second.count("GET"));
+        }
+    }
+
+    @Test
+    void redirectionsStopAtMaxRedirections() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer()) {
+            AtomicReference<FakeRedisServer> owner = new AtomicReference<>(server);
+            // A node that keeps redirecting to itself, as during a stuck migration
+            server.respond(command -> "GET".equals(command.get(0))
+                ? FakeRedisServer.error("MOVED 12539 127.0.0.1:" + server.getPort())
+                : node(command, owner, null));
+            Properties properties = new Properties();
+            properties.setProperty("maxRedirections", "3");
+
+            try (Connection connection = new RedisConnection(url(server), properties);
+                 Statement statement = connection.createStatement()) {
+                SQLException e = assertThrows(SQLException.class, () -> statement.executeQuery("GET k"));
+                assertTrue(e.getMessage().contains("MOVED"), e.getMessage());
+            }
+            assertEquals(3, server.count("GET"));
+        }
+    }
+
+    /**
+     * Reply to SCAN with the given steps: the cursor sent selects a step of {next cursor, keys...}.
+     */
+    private static String scan(List<String> command, List<String[]> steps) {
+        String[] step = steps.get(Integer.parseInt(command.get(1)));
+        String[] keys = new String[step.length - 1];
+        for (int i = 1; i < step.length; i++) {
+            keys[i - 1] = FakeRedisServer.bulk(step[i]);
+        }
+        return FakeRedisServer.array(FakeRedisServer.bulk(step[0]), FakeRedisServer.array(keys));
+    }
+
+    @Test
+    void keysScanWalksEveryMaster() throws Exception {
+        try (FakeRedisServer low = new FakeRedisServer();
+             FakeRedisServer high = new FakeRedisServer()) {
+            List<String[]> lowSteps = Arrays.asList(new String[] { "1", "a1" }, new String[] { "0", "a2" });
+            List<String[]> highSteps = Arrays.asList(new String[][] { { "0", "b1" } });
+            for (FakeRedisServer server : Arrays.asList(low, high)) {
+                List<String[]> steps = server == low ? lowSteps : highSteps;
+                server.respond(command -> {
+                    switch (command.get(0)) {
+                        case "CLUSTER":
+                            return FakeRedisServer.array(FakeRedisServer.slots(0, 8191, low),
+                                FakeRedisServer.slots(8192, 16383, high));
+                        case "SCAN":
+                            return scan(command, steps);
+                        default:
+                            return null;
+                    }
+                });
+            }
+            Properties properties = new Properties();
+            properties.setProperty("useScanForKeys", "true");
+
+            try (Connection connection = new RedisConnection(url(low), properties);
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("KEYS *")) {
+                List<String> keys = new ArrayList<>();
+                while (rs.next()) {
+                    keys.add(rs.getString(1));
+                }
+                assertEquals(Arrays.asList("a1", "a2", "b1"), keys);
+            }
+            assertEquals(2, low.count("SCAN"));
+            // Each master starts from a fresh cursor
+            assertEquals("0", high.getCommands().stream()
+                .filter(command -> command.get(0).equals("SCAN")).findFirst().get().get(1));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.synehq.jdbc.redis;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisCommandParserTest {
+
+    @Test
+    void splitsOnWhitespace() {
+        RedisCommand command = RedisCommandParser.parse("  set  key\tvalue\n");
+
+        assertEquals("SET", command.getCommand());
+        assertArrayEquals(new String[] { "key", "value" }, command.getArgs());
+        assertFalse(command.isBinary());
+    }
+
+    @Test
+    void quotesStartNewTokens() {
+        RedisCommand command = RedisCommandParser.parse("HSET h\"field one\"'value two'");
+
+        assertArrayEquals(new String[] { "h", "field one", "value two" }, command.getArgs());
+    }
+
+    @Test
+    void emptyQuotedArgument() {
+        assertArrayEquals(new String[] { "key", "" }, RedisCommandParser.parse("SET key \"\"").getArgs());
+    }
+
+    @Test
+    void doubleQuotedEscapes() {
+        RedisCommand command = RedisCommandParser.parse("SET key \"a\\\"b\\\\c\\n\\r\\t\\b\\a\"");
+
+        assertArrayEquals(new String[] { "key", "a\"b\\c\n\r\t\b\u0007" }, command.getArgs());
+    }
+
+    @Test
+    void asciiHexEscapeStaysText() {
+        RedisCommand command = RedisCommandParser.parse("SET key \"\\x41\\x7f\"");
+
+        assertArrayEquals(new String[] { "key", "A\u007f" }, command.getArgs());
+        assertFalse(command.isBinary());
+    }
+
+    @Test
+    void highHexEscapeIsOneRawByte() {
+        RedisCommand command = RedisCommandParser.parse("SET k\u00e9y \"a\\xff\\x00\u00e9\"");
+
+        assertTrue(command.isBinary());
+        byte[][] args = command.getBinaryArgs();
+        assertArrayEquals("k\u00e9y".getBytes(StandardCharsets.UTF_8), args[0]);
+        assertArrayEquals(new byte[] { 'a', (byte) 0xff, 0, (byte) 0xc3, (byte) 0xa9 }, args[1]);
+    }
+
+    @Test
+    void hexEscapesSpellUtf8Sequences() {
+        RedisCommand command = RedisCommandParser.parse("SET key \"caf\\xc3\\xa9\"");
+
+        assertArrayEquals(new byte[] { 'c', 'a', 'f', (byte) 0xc3, (byte) 0xa9 }, command.getBinaryArgs()[1]);
+        assertEquals("caf\u00e9", command.getArgs()[1]);
+    }
+
+    @Test
+    void incompleteHexEscapeIsKept() {
+        assertArrayEquals(new String[] { "key", "\\xg1\\x4" }, RedisCommandParser.parse("SET key \"\\xg1\\x4\"").getArgs());
+    }
+
+    @Test
+    void singleQuotesOnlyEscapeQuote() {
+        assertArrayEquals(new String[] { "it's" }, RedisCommandParser.parse("GET 'it\\'s'").getArgs());
+        assertArrayEquals(new String[] { "a\\n" }, RedisCommandParser.parse("GET 'a\\n'").getArgs());
+        assertArrayEquals(new String[] { "\\x41" }, RedisCommandParser.parse("GET '\\x41'").getArgs());
+    }
+
+    @Test
+    void escapedBackslashBeforeClosingSingleQuote() {
+        RedisCommand command = RedisCommandParser.parse("SET 'a\\\\' value");
+
+        assertArrayEquals(new String[] { "a\\\\", "value" }, command.getArgs());
+    }
+
+    @Test
+    void backslashesOutsideEscapesAreKept() {
+        assertArrayEquals(new String[] { "C:\\path" }, RedisCommandParser.parse("GET C:\\path").getArgs());
+        assertArrayEquals(new String[] { "C:\\path" }, RedisCommandParser.parse("GET \"C:\\path\"").getArgs());
+        assertArrayEquals(new String[] { "C:\\path" }, RedisCommandParser.parse("GET 'C:\\path'").getArgs());
+    }
+
+    @Test
+    void unterminatedQuoteIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> RedisCommandParser.parse("GET \"key"));
+        assertThrows(IllegalArgumentException.class, () -> RedisCommandParser.parse("GET 'key\\'"));
+    }
+
+    @Test
+    void emptyCommandIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> RedisCommandParser.parse("   "));
+        assertThrows(IllegalArgumentException.class, () -> RedisCommandParser.parse(null));
+    }
+
+    @Test
+    void templateKeepsRawLiteralBytes() throws Exception {
+        RedisCommandTemplate template = RedisCommandParser.parseTemplate("SET \"k\\xfe\" ?");
+
+        RedisCommand command = template.bind(new Object[] { "v" });
+
+        assertTrue(command.isBinary());
+        assertArrayEquals(new byte[] { 'k', (byte) 0xfe }, command.getBinaryArgs()[0]);
+        assertArrayEquals(new byte[] { 'v' }, command.getBinaryArgs()[1]);
+    }
+
+    @Test
+    void quotedQuestionMarkIsNotAParameter() {
+        assertEquals(2, RedisCommandParser.parseTemplate("HSET ? '?' ?").getParameterCount());
+    }
+}
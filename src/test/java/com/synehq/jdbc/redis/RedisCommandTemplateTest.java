@@ -0,0 +1,88 @@
+package com.synehq.jdbc.redis;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisCommandTemplateTest {
+
+    @Test
+    void bindsWholeArgumentParameters() throws SQLException {
+        RedisCommandTemplate template = RedisCommandParser.parseTemplate("HSET ? field ?");
+
+        RedisCommand command = template.bind(new Object[] { "h", 42 });
+
+        assertEquals("HSET", command.getCommand());
+        assertArrayEquals(new String[] { "h", "field", "42" }, command.getArgs());
+        assertFalse(command.isBinary());
+    }
+
+    @Test
+    void bindsParametersInsideAnArgument() throws SQLException {
+        RedisCommandTemplate template = RedisCommandParser.parseTemplate("GET user:?:name:?");
+
+        assertEquals(2, template.getParameterCount());
+        assertArrayEquals(new String[] { "user:7:name:x" }, template.bind(new Object[] { 7, "x" }).getArgs());
+    }
+
+    @Test
+    void bytesParameterIsPassedThrough() throws SQLException {
+        byte[] value = { 0, (byte) 0xff, (byte) 0x80, 'a' };
+        RedisCommandTemplate template = RedisCommandParser.parseTemplate("SET ? ?");
+
+        RedisCommand command = template.bind(new Object[] { "key", value });
+
+        assertTrue(command.isBinary());
+        byte[][] args = command.getBinaryArgs();
+        assertArrayEquals("key".getBytes(StandardCharsets.UTF_8), args[0]);
+        assertSame(value, args[1]);
+    }
+
+    @Test
+    void bytesParameterInsideAnArgumentIsConcatenatedAsBytes() throws SQLException {
+        RedisCommandTemplate template = RedisCommandParser.parseTemplate("SET k:?:é:? v");
+
+        RedisCommand command = template.bind(new Object[] { new byte[] { (byte) 0xfe }, 1 });
+
+        byte[] expected = { 'k', ':', (byte) 0xfe, ':', (byte) 0xc3, (byte) 0xa9, ':', '1' };
+        assertArrayEquals(expected, command.getBinaryArgs()[0]);
+        assertArrayEquals(new byte[] { 'v' }, command.getBinaryArgs()[1]);
+    }
+
+    @Test
+    void bindingDoesNotChangeTheTemplate() throws SQLException {
+        RedisCommandTemplate template = RedisCommandParser.parseTemplate("SET ? ?");
+
+        template.bind(new Object[] { "a", new byte[] { 1 } });
+        RedisCommand second = template.bind(new Object[] { "b", "c" });
+
+        assertArrayEquals(new String[] { "b", "c" }, second.getArgs());
+        assertFalse(second.isBinary());
+    }
+
+    @Test
+    void unsetParameterIsRejected() {
+        RedisCommandTemplate template = RedisCommandParser.parseTemplate("SET ? ?");
+
+        assertThrows(SQLException.class, () -> template.bind(new Object[] { "key", RedisCommandTemplate.UNSET }));
+        assertThrows(SQLException.class, () -> template.bind(new Object[] { "key" }));
+    }
+
+    @Test
+    void nullParameterIsRejected() {
+        RedisCommandTemplate template = RedisCommandParser.parseTemplate("SET k ?");
+
+        SQLException e = assertThrows(SQLException.class, () -> template.bind(new Object[] { null }));
+        assertTrue(e.getMessage().contains("Parameter 1"), e.getMessage());
+        assertThrows(SQLException.class,
+            () -> RedisCommandParser.parseTemplate("GET user:?").bind(new Object[] { null }));
+    }
+}
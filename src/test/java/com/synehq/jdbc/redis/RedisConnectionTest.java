@@ -0,0 +1,374 @@
+package com.synehq.jdbc.redis;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import redis.clients.jedis.Jedis;
+
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisConnectionTest {
+
+    private static RedisConnection.RedisConnectionInfo parseUnix(String url) throws SQLException {
+        return RedisConnection.parseUnixSocketUrl(url, new Properties());
+    }
+
+    @Test
+    void unixSocketPath() throws SQLException {
+        RedisConnection.RedisConnectionInfo info = parseUnix("jdbc:redis+unix:///var/run/redis/redis.sock");
+
+        assertEquals("/var/run/redis/redis.sock", info.getSocketPath());
+        assertEquals(0, info.getDatabase());
+        assertNull(info.getUsername());
+        assertNull(info.getPassword());
+    }
+
+    @Test
+    void unixSocketDatabaseFromQuery() throws SQLException {
+        RedisConnection.RedisConnectionInfo info = parseUnix("jdbc:redis+unix:///var/run/redis.sock?database=2");
+
+        assertEquals("/var/run/redis.sock", info.getSocketPath());
+        assertEquals(2, info.getDatabase());
+        assertEquals(3, parseUnix("jdbc:redis+unix:///tmp/r.sock?timeout=5&database=3").getDatabase());
+    }
+
+    @Test
+    void numericLastSegmentIsPartOfThePath() throws SQLException {
+        RedisConnection.RedisConnectionInfo info = parseUnix("jdbc:redis+unix:///run/redis/6379");
+
+        assertEquals("/run/redis/6379", info.getSocketPath());
+        assertEquals(0, info.getDatabase());
+    }
+
+    @Test
+    void numericSegmentAfterExistingSocketIsTheDatabase(@TempDir Path directory) throws Exception {
+        Path socket = Files.createFile(directory.resolve("redis.sock"));
+
+        RedisConnection.RedisConnectionInfo info = parseUnix("jdbc:redis+unix://" + socket + "/2");
+        assertEquals(socket.toString(), info.getSocketPath());
+        assertEquals(2, info.getDatabase());
+        assertEquals(5, parseUnix("jdbc:redis+unix://" + socket + "/2?database=5").getDatabase());
+    }
+
+    @Test
+    void unixSocketDatabaseFromProperty() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("database", "4");
+
+        assertEquals(4, RedisConnection.parseUnixSocketUrl("jdbc:redis+unix:///tmp/r.sock", properties).getDatabase());
+        assertEquals(1, RedisConnection.parseUnixSocketUrl("jdbc:redis+unix:///tmp/r.sock?database=1", properties).getDatabase());
+    }
+
+    @Test
+    void unixSocketCredentials() throws SQLException {
+        RedisConnection.RedisConnectionInfo info = parseUnix("jdbc:redis+unix://app:s3cr@t@/tmp/redis.sock");
+
+        assertEquals("app", info.getUsername());
+        assertEquals("s3cr@t", info.getPassword());
+        assertEquals("/tmp/redis.sock", info.getSocketPath());
+        assertEquals("secret", parseUnix("jdbc:redis+unix://secret@/tmp/redis.sock").getPassword());
+    }
+
+    @Test
+    void invalidUnixSocketUrlsAreRejected() {
+        assertThrows(SQLException.class, () -> parseUnix("jdbc:redis+unix://redis.sock"));
+        assertThrows(SQLException.class, () -> parseUnix("jdbc:redis+unix:///"));
+        assertThrows(SQLException.class, () -> parseUnix("jdbc:redis+unix:///tmp/r.sock?database=one"));
+    }
+
+    private static List<List<String>> auths(FakeRedisServer server) {
+        return server.getCommands().stream()
+            .filter(command -> command.get(0).equals("AUTH"))
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    void pooledSocketsAuthenticateOnce() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer()) {
+            Properties properties = new Properties();
+            properties.setProperty("password", "secret");
+            try (RedisConnection connection = new RedisConnection(server.getUrl(), properties)) {
+                for (int i = 0; i < 5; i++) {
+                    try (Jedis jedis = connection.getJedis()) {
+                        jedis.ping();
+                    }
+                }
+            }
+
+            assertEquals(5, server.count("PING"));
+            assertEquals(1, server.getConnections());
+            assertEquals(Arrays.asList(Arrays.asList("AUTH", "secret")), auths(server));
+        }
+    }
+
+    @Test
+    void jdbcUserFallsBackToPasswordAuth() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer()) {
+            // A requirepass-only server knows no users
+            server.respond(command -> command.get(0).equals("AUTH") && command.size() == 3
+                ? FakeRedisServer.error("WRONGPASS invalid username-password pair or user is disabled.") : null);
+            Properties properties = new Properties();
+            properties.setProperty("user", "app");
+            properties.setProperty("password", "secret");
+            try (RedisConnection connection = new RedisConnection(server.getUrl(), properties)) {
+                try (Jedis first = connection.getJedis(); Jedis second = connection.getJedis()) {
+                    first.ping();
+                    second.ping();
+                }
+            }
+
+            // Only the first socket tries the user; the second goes straight to the password
+            assertEquals(Arrays.asList(Arrays.asList("AUTH", "app", "secret"), Arrays.asList("AUTH", "secret"),
+                Arrays.asList("AUTH", "secret")), auths(server));
+            assertEquals(3, server.getConnections());
+        }
+    }
+
+    @Test
+    void aclUserIsKept() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer()) {
+            Properties properties = new Properties();
+            properties.setProperty("user", "app");
+            properties.setProperty("password", "secret");
+            try (RedisConnection connection = new RedisConnection(server.getUrl(), properties);
+                 Jedis jedis = connection.getJedis()) {
+                jedis.ping();
+            }
+
+            // No extra socket to check the user when the connection is opened
+            assertEquals(1, server.getConnections());
+            assertEquals(Arrays.asList(Arrays.asList("AUTH", "app", "secret")), auths(server));
+        }
+    }
+
+    @Test
+    void wrongPasswordIsReported() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer()) {
+            server.respond(command -> command.get(0).equals("AUTH")
+                ? FakeRedisServer.error("WRONGPASS invalid username-password pair or user is disabled.") : null);
+            Properties properties = new Properties();
+            properties.setProperty("user", "app");
+            properties.setProperty("password", "wrong");
+            try (RedisConnection connection = new RedisConnection(server.getUrl(), properties)) {
+                Exception e = assertThrows(Exception.class, connection::getJedis);
+                Throwable cause = e;
+                while (cause.getCause() != null) {
+                    cause = cause.getCause();
+                }
+                assertTrue(cause.getMessage().startsWith("WRONGPASS"), cause.getMessage());
+            }
+        }
+    }
+
+    @Test
+    void sharedPoolsShareTheReplicaRouter() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer()) {
+            server.respond(command -> command.get(0).equals("INFO")
+                ? FakeRedisServer.bulk("# Replication\r\nrole:master\r\nconnected_slaves:0\r\n") : null);
+            Properties properties = new Properties();
+            properties.setProperty("sharedPool", "true");
+            properties.setProperty("readFrom", "replicaPreferred");
+
+            try (RedisConnection first = new RedisConnection(server.getUrl(), properties);
+                 RedisConnection second = new RedisConnection(server.getUrl(), properties)) {
+                // One router, refreshed once when it was created
+                assertEquals(1, server.count("INFO"));
+            }
+            try (RedisConnection third = new RedisConnection(server.getUrl(), properties)) {
+                // The router was closed with the last connection using the pool
+                assertEquals(2, server.count("INFO"));
+            }
+        }
+    }
+
+    @Test
+    void replicaDiscoveryDoesNotHoldUpOtherSharedPools() throws Exception {
+        CountDownLatch discovering = new CountDownLatch(1);
+        CountDownLatch answer = new CountDownLatch(1);
+        try (FakeRedisServer slow = new FakeRedisServer();
+             FakeRedisServer other = new FakeRedisServer()) {
+            slow.respond(command -> {
+                if (!command.get(0).equals("INFO")) {
+                    return null;
+                }
+                discovering.countDown();
+                try {
+                    answer.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return FakeRedisServer.bulk("# Replication\r\nrole:master\r\nconnected_slaves:0\r\n");
+            });
+            Properties routed = new Properties();
+            routed.setProperty("sharedPool", "true");
+            routed.setProperty("readFrom", "replicaPreferred");
+            Properties plain = new Properties();
+            plain.setProperty("sharedPool", "true");
+
+            CompletableFuture<RedisConnection> first = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return new RedisConnection(slow.getUrl(), routed);
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            try {
+                assertTrue(discovering.await(5, TimeUnit.SECONDS));
+                // Opening a shared pool elsewhere does not wait for the slow INFO
+                CompletableFuture<RedisConnection> second = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return new RedisConnection(other.getUrl(), plain);
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                second.get(5, TimeUnit.SECONDS).close();
+            } finally {
+                answer.countDown();
+            }
+            first.get(5, TimeUnit.SECONDS).close();
+        }
+    }
+
+    private static void announce(FakeRedisServer sentinel, AtomicInteger masterPort) {
+        sentinel.respond(command -> command.get(0).equals("SENTINEL")
+            ? FakeRedisServer.array(FakeRedisServer.bulk("127.0.0.1"), FakeRedisServer.bulk(String.valueOf(masterPort.get())))
+            : null);
+    }
+
+    private static Properties dedicated() {
+        Properties properties = new Properties();
+        properties.setProperty("dedicatedConnection", "true");
+        return properties;
+    }
+
+    @Test
+    void dedicatedSentinelConnectionFollowsDemotedMaster() throws Exception {
+        try (FakeRedisServer sentinel = new FakeRedisServer();
+             FakeRedisServer oldMaster = new FakeRedisServer();
+             FakeRedisServer newMaster = new FakeRedisServer()) {
+            AtomicInteger masterPort = new AtomicInteger(oldMaster.getPort());
+            announce(sentinel, masterPort);
+            String url = "jdbc:redis:sentinel://127.0.0.1:" + sentinel.getPort() + "/mymaster";
+
+            try (Connection connection = new RedisConnection(url, dedicated());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SET k 1");
+                assertEquals(1, oldMaster.count("SET"));
+
+                // Failover: the old master stays up as a replica and rejects writes
+                masterPort.set(newMaster.getPort());
+                oldMaster.respond(command -> command.get(0).equals("SET")
+                    ? FakeRedisServer.error("READONLY You can't write against a read only replica.") : null);
+                assertThrows(SQLException.class, () -> statement.execute("SET k 2"));
+
+                statement.execute("SET k 3");
+                assertEquals(Arrays.asList("SET", "k", "3"), newMaster.getCommands().get(newMaster.getCommands().size() - 1));
+            }
+            assertEquals(2, sentinel.count("SENTINEL"));
+        }
+    }
+
+    @Test
+    void dedicatedSentinelConnectionFollowsStoppedMaster() throws Exception {
+        try (FakeRedisServer sentinel = new FakeRedisServer();
+             FakeRedisServer oldMaster = new FakeRedisServer();
+             FakeRedisServer newMaster = new FakeRedisServer()) {
+            AtomicInteger masterPort = new AtomicInteger(oldMaster.getPort());
+            announce(sentinel, masterPort);
+            String url = "jdbc:redis:sentinel://127.0.0.1:" + sentinel.getPort() + "/mymaster";
+
+            try (Connection connection = new RedisConnection(url, dedicated());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SET k 1");
+
+                masterPort.set(newMaster.getPort());
+                oldMaster.close();
+                // The command in flight when the socket drops fails; the next one reconnects
+                try {
+                    statement.execute("SET k 2");
+                } catch (SQLException e) {
+                    // Expected unless the drop was already noticed
+                }
+                statement.execute("SET k 3");
+                assertEquals(Arrays.asList("SET", "k", "3"), newMaster.getCommands().get(newMaster.getCommands().size() - 1));
+            }
+        }
+    }
+
+    private static Properties shared(String... settings) {
+        Properties properties = new Properties();
+        properties.setProperty("sharedPool", "true");
+        for (int i = 0; i < settings.length; i += 2) {
+            properties.setProperty(settings[i], settings[i + 1]);
+        }
+        return properties;
+    }
+
+    @Test
+    void sharedPoolKeySeparatesTlsSettings() throws SQLException {
+        // Pools connect lazily, so nothing needs to listen on the port
+        String url = "jdbc:redis://127.0.0.1:1/0";
+        try (RedisConnection plain = new RedisConnection(url, shared());
+             RedisConnection plainAgain = new RedisConnection(url, shared("ssl", "false"));
+             RedisConnection tls = new RedisConnection(url, shared("ssl", "true"));
+             RedisConnection tlsAgain = new RedisConnection(url, shared("ssl", "true"));
+             RedisConnection trustAll = new RedisConnection(url, shared("ssl", "true", "verifyServerCertificate", "false"));
+             RedisConnection slow = new RedisConnection(url, shared("socketTimeout", "30000"))) {
+            assertSame(plain.getPrimaryPool(), plainAgain.getPrimaryPool());
+            assertSame(tls.getPrimaryPool(), tlsAgain.getPrimaryPool());
+            assertNotSame(plain.getPrimaryPool(), tls.getPrimaryPool());
+            assertNotSame(tls.getPrimaryPool(), trustAll.getPrimaryPool());
+            assertNotSame(plain.getPrimaryPool(), slow.getPrimaryPool());
+        }
+    }
+
+    @Test
+    void sharedPoolKeySeparatesPoolSettings() throws SQLException {
+        String url = "jdbc:redis://127.0.0.1:1/0";
+        try (RedisConnection small = new RedisConnection(url, shared("maxTotal", "2"));
+             RedisConnection smallAgain = new RedisConnection(url, shared("maxTotal", "2"));
+             RedisConnection large = new RedisConnection(url, shared("maxTotal", "50"));
+             RedisConnection impatient = new RedisConnection(url, shared("maxTotal", "2", "maxWaitMillis", "10"))) {
+            assertSame(small.getPrimaryPool(), smallAgain.getPrimaryPool());
+            assertNotSame(small.getPrimaryPool(), large.getPrimaryPool());
+            assertNotSame(small.getPrimaryPool(), impatient.getPrimaryPool());
+        }
+    }
+
+    @Test
+    void sharedPoolDoesNotKeepItsFirstConnectionReachable() throws Exception {
+        String url = "jdbc:redis://127.0.0.1:1/0";
+        RedisConnection first = new RedisConnection(url, shared("user", "app", "password", "secret"));
+        try (RedisConnection second = new RedisConnection(url, shared("user", "app", "password", "secret"))) {
+            assertSame(first.getPrimaryPool(), second.getPrimaryPool());
+            WeakReference<RedisConnection> reference = new WeakReference<>(first);
+            first.close();
+            first = null;
+            for (int i = 0; i < 50 && reference.get() != null; i++) {
+                System.gc();
+                Thread.sleep(10);
+            }
+            assertNull(reference.get());
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.synehq.jdbc.redis;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisCursorTest {
+
+    /**
+     * Stream entries as "id field value ..." strings, ordered by id.
+     */
+    private static final List<String> STREAM = Arrays.asList(
+        "1-0 a 1 b 2",
+        "2-0 a 3",
+        "3-0 c 4");
+
+    private static long[] id(String id) {
+        String[] parts = id.split("-");
+        return new long[] { Long.parseLong(parts[0]), parts.length > 1 ? Long.parseLong(parts[1]) : 0 };
+    }
+
+    private static int compare(String left, String right) {
+        long[] l = id(left);
+        long[] r = id(right);
+        return l[0] != r[0] ? Long.compare(l[0], r[0]) : Long.compare(l[1], r[1]);
+    }
+
+    private static boolean within(String id, String low, String high) {
+        return ("-".equals(low) || compare(id, low) >= 0) && ("+".equals(high) || compare(id, high) <= 0);
+    }
+
+    /**
+     * Reply to XRANGE/XREVRANGE key start end [COUNT n] over the given entries.
+     */
+    static String streamRange(List<String> entries, List<String> command) {
+        boolean reverse = "XREVRANGE".equals(command.get(0));
+        String low = reverse ? command.get(3) : command.get(2);
+        String high = reverse ? command.get(2) : command.get(3);
+        int count = command.size() > 5 ? Integer.parseInt(command.get(5)) : Integer.MAX_VALUE;
+        List<String> ordered = new ArrayList<>(entries);
+        if (reverse) {
+            Collections.reverse(ordered);
+        }
+        List<String> replies = new ArrayList<>();
+        for (String entry : ordered) {
+            String[] parts = entry.split(" ");
+            if (replies.size() < count && within(parts[0], low, high)) {
+                String[] fields = new String[parts.length - 1];
+                for (int i = 1; i < parts.length; i++) {
+                    fields[i - 1] = FakeRedisServer.bulk(parts[i]);
+                }
+                replies.add(FakeRedisServer.array(FakeRedisServer.bulk(parts[0]), FakeRedisServer.array(fields)));
+            }
+        }
+        return FakeRedisServer.array(replies.toArray(new String[0]));
+    }
+
+    @Test
+    void streamMetadataIsSampledBeforeNext() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), new Properties());
+             Statement statement = connection.createStatement()) {
+            server.respond(command -> "XRANGE".equals(command.get(0)) ? streamRange(STREAM, command) : null);
+            statement.setFetchSize(2);
+
+            try (ResultSet rs = statement.executeQuery("XRANGE s - +")) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                assertEquals(3, metaData.getColumnCount());
+                assertEquals("id", metaData.getColumnName(1));
+                assertEquals(new HashSet<>(Arrays.asList("a", "b")),
+                    new HashSet<>(Arrays.asList(metaData.getColumnName(2), metaData.getColumnName(3))));
+
+                assertTrue(rs.next());
+                assertEquals("1-0", rs.getString("id"));
+                assertTrue(rs.next());
+                assertEquals("3", rs.getString("a"));
+                assertNull(rs.getString("b"));
+                assertTrue(rs.next());
+                // A field first seen in a later window is dropped, so the columns match the metadata
+                assertEquals("3-0", rs.getString("id"));
+                assertThrows(SQLException.class, () -> rs.findColumn("c"));
+                assertNull(rs.getString("a"));
+                assertFalse(rs.next());
+                assertEquals(3, rs.getMetaData().getColumnCount());
+            }
+        }
+    }
+
+    @Test
+    void streamWithoutFieldsHasTheMaterializedColumns() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), new Properties());
+             Statement statement = connection.createStatement()) {
+            server.respond(command -> "XRANGE".equals(command.get(0))
+                ? streamRange(Arrays.asList("1-0", "2-0", "3-0 a 1"), command) : null);
+            List<String> materialized = columns(statement, "XRANGE s - 2");
+
+            statement.setFetchSize(2);
+            assertEquals(materialized, columns(statement, "XRANGE s - 2"));
+            assertEquals(Arrays.asList("id", "value"), materialized);
+            try (ResultSet rs = statement.executeQuery("XRANGE s - +")) {
+                assertEquals(2, rs.getMetaData().getColumnCount());
+                while (rs.next()) {
+                    assertNull(rs.getString("value"));
+                }
+            }
+            // An empty stream has the single value column, as when materialized
+            assertEquals(Arrays.asList("value"), columns(statement, "XRANGE s 9 +"));
+        }
+    }
+
+    private static List<String> columns(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            List<String> columns = new ArrayList<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                columns.add(metaData.getColumnName(i));
+            }
+            return columns;
+        }
+    }
+
+    private static final List<String> LIST = Arrays.asList("a", "b", "c", "d", "e");
+
+    /**
+     * Reply to LRANGE key start stop over {@link #LIST}, with the server's index rules.
+     */
+    private static String listRange(List<String> command) {
+        int length = LIST.size();
+        long start = Long.parseLong(command.get(2));
+        long stop = Long.parseLong(command.get(3));
+        start = start < 0 ? Math.max(0, length + start) : start;
+        stop = stop < 0 ? length + stop : Math.min(stop, length - 1);
+        List<String> replies = new ArrayList<>();
+        for (long i = start; i <= stop; i++) {
+            replies.add(FakeRedisServer.bulk(LIST.get((int) i)));
+        }
+        return FakeRedisServer.array(replies.toArray(new String[0]));
+    }
+
+    private static String lists(List<String> command) {
+        switch (command.get(0)) {
+            case "LRANGE":
+                return listRange(command);
+            case "LLEN":
+                return FakeRedisServer.integer(LIST.size());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Reply to SSCAN in two steps: cursor 0 returns a and b, cursor 5 returns c and ends the iteration.
+     */
+    private static String sets(List<String> command) {
+        if (!"SSCAN".equals(command.get(0))) {
+            return null;
+        }
+        if ("0".equals(command.get(2))) {
+            return FakeRedisServer.array(FakeRedisServer.bulk("5"),
+                FakeRedisServer.array(FakeRedisServer.bulk("a"), FakeRedisServer.bulk("b")));
+        }
+        return FakeRedisServer.array(FakeRedisServer.bulk("0"), FakeRedisServer.array(FakeRedisServer.bulk("c")));
+    }
+
+    private static List<String> values(ResultSet rs) throws Exception {
+        List<String> values = new ArrayList<>();
+        while (rs.next()) {
+            values.add(rs.getString(1));
+        }
+        return values;
+    }
+
+    private static List<List<String>> sent(FakeRedisServer server, String name) {
+        List<List<String>> sent = new ArrayList<>();
+        for (List<String> command : server.getCommands()) {
+            if (command.get(0).equals(name)) {
+                sent.add(command.subList(1, command.size()));
+            }
+        }
+        return sent;
+    }
+
+    private static Connection connect(FakeRedisServer server, boolean scanForCollections) throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("useScanForCollections", Boolean.toString(scanForCollections));
+        return new RedisConnection(server.getUrl(), properties);
+    }
+
+    @Test
+    void scanFollowsCursorAcrossWindows() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = connect(server, true);
+             Statement statement = connection.createStatement()) {
+            server.respond(RedisCursorTest::sets);
+            statement.setFetchSize(2);
+
+            try (ResultSet rs = statement.executeQuery("SMEMBERS s")) {
+                assertEquals(Arrays.asList("a", "b", "c"), values(rs));
+            }
+            assertEquals(Arrays.asList(Arrays.asList("s", "0", "COUNT", "2"), Arrays.asList("s", "5", "COUNT", "2")),
+                sent(server, "SSCAN"));
+        }
+    }
+
+    @Test
+    void scanStopsAtRowLimit() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = connect(server, true);
+             Statement statement = connection.createStatement()) {
+            server.respond(RedisCursorTest::sets);
+            statement.setFetchSize(2);
+            statement.setMaxRows(2);
+
+            try (ResultSet rs = statement.executeQuery("SMEMBERS s")) {
+                assertEquals(Arrays.asList("a", "b"), values(rs));
+            }
+            assertEquals(1, server.count("SSCAN"));
+        }
+    }
+
+    @Test
+    void collectionsAreNotScannedByDefault() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = connect(server, false);
+             Statement statement = connection.createStatement()) {
+            server.respond(command -> "SMEMBERS".equals(command.get(0))
+                ? FakeRedisServer.array(FakeRedisServer.bulk("a")) : null);
+            statement.setFetchSize(2);
+
+            try (ResultSet rs = statement.executeQuery("SMEMBERS s")) {
+                assertEquals(Arrays.asList("a"), values(rs));
+            }
+            assertEquals(0, server.count("SSCAN"));
+        }
+    }
+
+    @Test
+    void rangeIsReadInWindows() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = connect(server, false);
+             Statement statement = connection.createStatement()) {
+            server.respond(RedisCursorTest::lists);
+            statement.setFetchSize(2);
+
+            try (ResultSet rs = statement.executeQuery("LRANGE l 1 -1")) {
+                assertEquals(Arrays.asList("b", "c", "d", "e"), values(rs));
+            }
+            // A stop of -1 needs no LLEN: the short last window ends the range
+            assertEquals(Arrays.asList(Arrays.asList("l", "1", "2"), Arrays.asList("l", "3", "4"),
+                Arrays.asList("l", "5", "6")), sent(server, "LRANGE"));
+            assertEquals(0, server.count("LLEN"));
+        }
+    }
+
+    @Test
+    void rangeStopsAtExplicitStop() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = connect(server, false);
+             Statement statement = connection.createStatement()) {
+            server.respond(RedisCursorTest::lists);
+            statement.setFetchSize(2);
+
+            try (ResultSet rs = statement.executeQuery("LRANGE l 0 2")) {
+                assertEquals(Arrays.asList("a", "b", "c"), values(rs));
+            }
+            assertEquals(Arrays.asList(Arrays.asList("l", "0", "1"), Arrays.asList("l", "2", "2")),
+                sent(server, "LRANGE"));
+        }
+    }
+
+    @Test
+    void negativeRangeIndexesAreResolvedOnce() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = connect(server, false);
+             Statement statement = connection.createStatement()) {
+            server.respond(RedisCursorTest::lists);
+            statement.setFetchSize(2);
+
+            try (ResultSet rs = statement.executeQuery("LRANGE l -4 -2")) {
+                assertEquals(Arrays.asList("b", "c", "d"), values(rs));
+            }
+            assertEquals(1, server.count("LLEN"));
+            assertEquals(Arrays.asList(Arrays.asList("l", "1", "2"), Arrays.asList("l", "3", "3")),
+                sent(server, "LRANGE"));
+        }
+    }
+
+    @Test
+    void reverseStreamRangeContinuesBelowLastId() throws Exception {
+        List<String> stream = Arrays.asList("1-0 f 1", "2-0 f 2", "2-1 f 3", "3-0 f 4");
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = connect(server, false);
+             Statement statement = connection.createStatement()) {
+            server.respond(command -> "XREVRANGE".equals(command.get(0)) ? streamRange(stream, command) : null);
+            statement.setFetchSize(2);
+
+            try (ResultSet rs = statement.executeQuery("XREVRANGE s + -")) {
+                assertEquals(Arrays.asList("3-0", "2-1", "2-0", "1-0"), values(rs));
+            }
+            List<String> starts = new ArrayList<>();
+            for (List<String> command : sent(server, "XREVRANGE")) {
+                starts.add(command.get(1));
+            }
+            // 2-1 continues at 2-0; below 1-0 the sequence wraps to the previous millisecond
+            assertEquals(Arrays.asList("+", "2-0", "0-" + Long.MAX_VALUE), starts);
+        }
+    }
+
+    @Test
+    void streamRangeStopsAtRowLimit() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = connect(server, false);
+             Statement statement = connection.createStatement()) {
+            server.respond(command -> "XRANGE".equals(command.get(0)) ? streamRange(STREAM, command) : null);
+            statement.setFetchSize(2);
+            statement.setMaxRows(3);
+
+            try (ResultSet rs = statement.executeQuery("XRANGE s - +")) {
+                assertEquals(Arrays.asList("1-0", "2-0", "3-0"), values(rs));
+            }
+            // The last window only asks for the rows still missing
+            assertEquals(Arrays.asList(Arrays.asList("s", "-", "+", "COUNT", "2"),
+                Arrays.asList("s", "2-1", "+", "COUNT", "1")), sent(server, "XRANGE"));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.synehq.jdbc.redis;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisMetricsTest {
+
+    private static final RedisMetrics METRICS = RedisMetrics.getInstance();
+
+    private static long count(String command) {
+        RedisCommandStatistics statistics = METRICS.getCommandStatistics(command);
+        return statistics != null ? statistics.getCount() : 0;
+    }
+
+    private static long errors(String command) {
+        RedisCommandStatistics statistics = METRICS.getCommandStatistics(command);
+        return statistics != null ? statistics.getErrors() : 0;
+    }
+
+    @Test
+    void requestSizeMatchesResp() {
+        // *3\r\n$3\r\nSET\r\n$1\r\nk\r\n$1\r\nv\r\n
+        assertEquals(27, RedisMetrics.requestSize(RedisCommandParser.parse("SET k v")));
+    }
+
+    @Test
+    void replySizeMatchesResp() {
+        assertEquals(5, RedisMetrics.replySize(null));
+        assertEquals(4, RedisMetrics.replySize(1L));
+        assertEquals(7, RedisMetrics.replySize("a"));
+        assertEquals(19, RedisMetrics.replySize(Arrays.asList("a", "bc")));
+        assertEquals(4, RedisMetrics.replySize(Collections.emptyList()));
+    }
+
+    @Test
+    void percentilesComeFromTheHistogram() {
+        String command = "TEST.PERCENTILES";
+        for (int i = 0; i < 98; i++) {
+            METRICS.record(command, 100_000, 0, 10, 5, 1, null);
+        }
+        METRICS.record(command, 10_000_000, 1_000, 10, 5, 1, null);
+        METRICS.record(command, 10_000_000, 1_000, 10, 0, -1, new SQLException("failed"));
+
+        RedisCommandStatistics statistics = METRICS.getCommandStatistics(command);
+        assertEquals(100, statistics.getCount());
+        assertEquals(1, statistics.getErrors());
+        assertEquals(99, statistics.getRows());
+        assertEquals(1000, statistics.getBytesOut());
+        assertEquals(495, statistics.getBytesIn());
+        assertEquals(2, statistics.getPoolWaitMicros());
+        // Upper bounds of the power-of-two microsecond buckets
+        assertEquals(128, statistics.getP50Micros());
+        assertEquals(16384, statistics.getP99Micros());
+        assertEquals(10_000, statistics.getMaxMicros());
+    }
+
+    @Test
+    void statementsAreRecordedAndReported() throws Exception {
+        List<String> completed = Collections.synchronizedList(new ArrayList<>());
+        List<SQLException> failures = Collections.synchronizedList(new ArrayList<>());
+        RedisMetricsListener listener = (command, latencyNanos, poolWaitNanos, bytesOut, bytesIn, rows, error) -> {
+            completed.add(command);
+            if (error != null) {
+                failures.add(error);
+            }
+        };
+        long gets = count("GET");
+        long hgetErrors = errors("HGET");
+
+        METRICS.addListener(listener);
+        try (FakeRedisServer server = new FakeRedisServer()) {
+            server.respond(command -> command.get(0).equals("HGET") ? FakeRedisServer.error("ERR boom") : null);
+            Properties properties = new Properties();
+            properties.setProperty("metrics", "true");
+            try (Connection connection = new RedisConnection(server.getUrl(), properties);
+                 Statement statement = connection.createStatement()) {
+                try (ResultSet rs = statement.executeQuery("GET k")) {
+                    assertTrue(rs.next());
+                    assertNull(rs.getString(1));
+                }
+                assertThrows(SQLException.class, () -> statement.executeQuery("HGET h f"));
+            }
+        } finally {
+            METRICS.removeListener(listener);
+        }
+
+        assertEquals(gets + 1, count("GET"));
+        assertEquals(hgetErrors + 1, errors("HGET"));
+        assertTrue(completed.containsAll(Arrays.asList("GET", "HGET")));
+        assertEquals(1, failures.size());
+    }
+
+    @Test
+    void failedAsyncCommandsAreRecorded() throws Exception {
+        long hgetErrors = errors("HGET");
+        try (FakeRedisServer server = new FakeRedisServer()) {
+            server.respond(command -> command.get(0).equals("HGET") ? FakeRedisServer.error("ERR boom") : null);
+            Properties properties = new Properties();
+            properties.setProperty("metrics", "true");
+            try (Connection connection = new RedisConnection(server.getUrl(), properties);
+                 Statement statement = connection.createStatement()) {
+                CompletableFuture<ResultSet> future = ((RedisAsyncStatement) statement).executeAsync("HGET h f");
+                ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(SQLException.class, failure.getCause());
+            }
+        }
+
+        assertEquals(hgetErrors + 1, errors("HGET"));
+    }
+}
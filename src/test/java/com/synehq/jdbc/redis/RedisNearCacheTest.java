@@ -0,0 +1,126 @@
+package com.synehq.jdbc.redis;
+
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.Jedis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisNearCacheTest {
+
+    /**
+     * A server that accepts client tracking and answers GET with "v".
+     */
+    private static FakeRedisServer trackingServer() throws Exception {
+        FakeRedisServer server = new FakeRedisServer();
+        server.respond(command -> {
+            switch (command.get(0)) {
+                case "CLIENT":
+                    return "ID".equalsIgnoreCase(command.get(1)) ? FakeRedisServer.integer(7) : null;
+                case "SUBSCRIBE":
+                    return FakeRedisServer.array(FakeRedisServer.bulk("subscribe"), FakeRedisServer.bulk(command.get(1)),
+                        FakeRedisServer.integer(1));
+                case "GET":
+                    return FakeRedisServer.bulk("v");
+                default:
+                    return null;
+            }
+        });
+        return server;
+    }
+
+    private static void awaitTracking(RedisNearCache cache) throws InterruptedException {
+        for (int i = 0; i < 100 && !cache.isTracking(); i++) {
+            Thread.sleep(20);
+        }
+        assertTrue(cache.isTracking());
+    }
+
+    @Test
+    void readsKeepAndWritesDropCachedReplies() throws Exception {
+        try (FakeRedisServer server = trackingServer()) {
+            RedisNearCache cache = new RedisNearCache(() -> new Jedis("127.0.0.1", server.getPort()), 100);
+            try {
+                awaitTracking(cache);
+                RedisCommand get = RedisCommandParser.parse("GET k");
+                assertEquals("v", cache.get(get, jedis -> jedis.get("k")));
+                assertEquals(1, cache.size());
+
+                for (String read : new String[] { "TTL k", "EXISTS k", "TYPE k", "STRLEN k" }) {
+                    cache.invalidateWritten(RedisCommandParser.parse(read));
+                }
+                assertEquals("v", cache.get(get, jedis -> jedis.get("k")));
+                assertEquals(1, cache.getHitCount());
+                assertEquals(1, server.count("GET"));
+
+                cache.invalidateWritten(RedisCommandParser.parse("SET k w"));
+                assertEquals(0, cache.size());
+                assertEquals(1, cache.getInvalidationCount());
+            } finally {
+                cache.close();
+            }
+        }
+    }
+
+    @Test
+    void everyKeyOfMultiKeyWritesIsDropped() throws Exception {
+        try (FakeRedisServer server = trackingServer()) {
+            RedisNearCache cache = new RedisNearCache(() -> new Jedis("127.0.0.1", server.getPort()), 100);
+            try {
+                awaitTracking(cache);
+                cache.get(RedisCommandParser.parse("GET a"), jedis -> jedis.get("a"));
+                cache.get(RedisCommandParser.parse("GET b"), jedis -> jedis.get("b"));
+                assertEquals(2, cache.size());
+
+                cache.invalidateWritten(RedisCommandParser.parse("MGET a b"));
+                assertEquals(2, cache.size());
+                cache.invalidateWritten(RedisCommandParser.parse("MSET a 1 b 2"));
+                assertEquals(0, cache.size());
+            } finally {
+                cache.close();
+            }
+        }
+    }
+
+    @Test
+    void rejectedTrackingLeavesTheCacheBypassed() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer()) {
+            server.respond(command -> {
+                switch (command.get(0)) {
+                    case "CLIENT":
+                        if ("TRACKING".equalsIgnoreCase(command.get(1))) {
+                            return FakeRedisServer.error("ERR Unknown subcommand or wrong number of arguments for 'TRACKING'");
+                        }
+                        return "ID".equalsIgnoreCase(command.get(1)) ? FakeRedisServer.integer(7) : null;
+                    case "SUBSCRIBE":
+                        return FakeRedisServer.array(FakeRedisServer.bulk("subscribe"), FakeRedisServer.bulk(command.get(1)),
+                            FakeRedisServer.integer(1));
+                    default:
+                        return null;
+                }
+            });
+            RedisNearCache cache = new RedisNearCache(() -> new Jedis("127.0.0.1", server.getPort()), 100);
+            try {
+                for (int i = 0; i < 100 && trackingRequests(server) == 0; i++) {
+                    Thread.sleep(20);
+                }
+                // Longer than the reconnect delay: the listener gave up instead of retrying
+                Thread.sleep(1500);
+
+                assertFalse(cache.isTracking());
+                assertSame(RedisNearCache.BYPASS, cache.get(RedisCommandParser.parse("GET k"), jedis -> jedis.get("k")));
+                assertEquals(1, trackingRequests(server));
+            } finally {
+                cache.close();
+            }
+        }
+    }
+
+    private static long trackingRequests(FakeRedisServer server) {
+        return server.getCommands().stream()
+            .filter(command -> command.size() > 1 && "TRACKING".equalsIgnoreCase(command.get(1)))
+            .count();
+    }
+}
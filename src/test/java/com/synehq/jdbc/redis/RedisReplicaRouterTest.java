@@ -0,0 +1,61 @@
+package com.synehq.jdbc.redis;
+
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.HostAndPort;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RedisReplicaRouterTest {
+
+    @Test
+    void parsesOnlineReplicas() {
+        String info = "# Replication\r\n"
+            + "role:master\r\n"
+            + "connected_slaves:2\r\n"
+            + "slave0:ip=10.0.0.2,port=6379,state=online,offset=1234,lag=0\r\n"
+            + "slave1:ip=10.0.0.3,port=6380,state=online,offset=1234,lag=1\r\n"
+            + "master_replid:8f0c5d3e\r\n";
+
+        assertEquals(Arrays.asList(new HostAndPort("10.0.0.2", 6379), new HostAndPort("10.0.0.3", 6380)),
+            RedisReplicaRouter.parseReplicas(info));
+    }
+
+    @Test
+    void skipsReplicasThatAreNotOnline() {
+        String info = "role:master\n"
+            + "slave0:ip=10.0.0.2,port=6379,state=wait_bgsave,offset=0,lag=0\n"
+            + "slave1:ip=10.0.0.3,port=6379,state=online,offset=10,lag=0\n";
+
+        assertEquals(Collections.singletonList(new HostAndPort("10.0.0.3", 6379)), RedisReplicaRouter.parseReplicas(info));
+    }
+
+    @Test
+    void ignoresOtherSlaveFields() {
+        String info = "role:slave\n"
+            + "slave_repl_offset:100\n"
+            + "slave_priority:100\n"
+            + "slave_read_only:1\n";
+
+        assertEquals(Collections.emptyList(), RedisReplicaRouter.parseReplicas(info));
+    }
+
+    @Test
+    void incompleteReplicaLinesAreSkipped() {
+        String info = "slave0:ip=10.0.0.2,state=online\n"
+            + "slave1:port=6379,state=online\n";
+
+        assertEquals(Collections.emptyList(), RedisReplicaRouter.parseReplicas(info));
+    }
+
+    @Test
+    void readFromIsParsedCaseInsensitively() throws SQLException {
+        assertEquals(RedisReplicaRouter.ReadFrom.REPLICA_PREFERRED, RedisReplicaRouter.ReadFrom.parse("replicaPreferred"));
+        assertEquals(RedisReplicaRouter.ReadFrom.PRIMARY, RedisReplicaRouter.ReadFrom.parse("MASTER"));
+        assertThrows(SQLException.class, () -> RedisReplicaRouter.ReadFrom.parse("any"));
+    }
+}
@@ -0,0 +1,148 @@
+package com.synehq.jdbc.redis;
+
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.resps.StreamEntry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisResultSetTest {
+
+    /**
+     * Not valid UTF-8: a lone continuation byte, a truncated two-byte sequence and 0xFF.
+     */
+    private static final byte[] BINARY = { (byte) 0x80, 0x00, (byte) 0xC3, 0x28, (byte) 0xFF };
+
+    private static byte[] readAll(InputStream in) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[16];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void binaryValuesRoundTripUnchanged() throws Exception {
+        Map<String, String> store = new ConcurrentHashMap<>();
+        try (FakeRedisServer server = new FakeRedisServer()) {
+            server.respond(command -> {
+                switch (command.get(0)) {
+                    case "SET":
+                        store.put(command.get(1), command.get(2));
+                        return FakeRedisServer.simple("OK");
+                    case "GET":
+                        return FakeRedisServer.bulk(store.get(command.get(1)));
+                    default:
+                        return null;
+                }
+            });
+            Properties properties = new Properties();
+            properties.setProperty("binary", "true");
+
+            try (Connection connection = new RedisConnection(server.getUrl(), properties)) {
+                try (PreparedStatement set = connection.prepareStatement("SET k ?")) {
+                    set.setBytes(1, BINARY);
+                    set.executeUpdate();
+                }
+                // Sent as the raw bytes, not re-encoded as text
+                assertEquals(new String(BINARY, StandardCharsets.ISO_8859_1), store.get("k"));
+                try (PreparedStatement get = connection.prepareStatement("GET k");
+                     ResultSet rs = get.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertArrayEquals(BINARY, rs.getBytes(1));
+                    assertArrayEquals(BINARY, (byte[]) rs.getObject(1));
+                    try (InputStream in = rs.getBinaryStream(1)) {
+                        assertArrayEquals(BINARY, readAll(in));
+                    }
+                }
+            }
+        }
+    }
+
+    private static RedisResultSet resultSet(String sql, Object reply) {
+        return new RedisResultSet(null, RedisCommandParser.parse(sql), reply, 1);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void decodedValueIsReusedWithinARow() throws Exception {
+        try (ResultSet rs = resultSet("LRANGE l 0 -1", Arrays.asList(utf8("caf\u00e9"), utf8("two")))) {
+            assertTrue(rs.next());
+            String first = rs.getString(1);
+            assertEquals("caf\u00e9", first);
+            // Decoded once per row: the getters hand back the same string
+            assertSame(first, rs.getString(1));
+            assertSame(first, rs.getObject(1));
+            assertSame(first, rs.getString("value"));
+
+            assertTrue(rs.next());
+            assertEquals("two", rs.getString(1));
+            assertSame(rs.getString(1), rs.getObject(1));
+            assertFalse(rs.next());
+        }
+    }
+
+    @Test
+    void mapRowsKeepFieldAndValuePositions() throws Exception {
+        Map<String, Object> hash = new LinkedHashMap<>();
+        hash.put("name", utf8("ada"));
+        hash.put("empty", null);
+        try (ResultSet rs = resultSet("HGETALL h", hash)) {
+            assertEquals(2, rs.getMetaData().getColumnCount());
+            assertTrue(rs.next());
+            assertEquals("name", rs.getString(1));
+            assertEquals("ada", rs.getString(2));
+            assertTrue(rs.next());
+            assertEquals("empty", rs.getString("field"));
+            assertNull(rs.getString("value"));
+
+            SQLException e = assertThrows(SQLException.class, () -> rs.getString(3));
+            assertTrue(e.getMessage().contains("out of range"), e.getMessage());
+            assertThrows(SQLException.class, () -> rs.getString(0));
+            assertFalse(rs.next());
+        }
+    }
+
+    @Test
+    void findColumnIgnoresCaseAndPicksTheFirstDuplicate() throws Exception {
+        // Stream fields may repeat the names of the built-in columns
+        StreamEntry entry = new StreamEntry(new StreamEntryID(1, 0),
+            Collections.singletonMap("ID", "field value"));
+        try (ResultSet rs = resultSet("XRANGE s - +", Collections.singletonList(entry))) {
+            assertEquals(1, rs.findColumn("id"));
+            assertEquals(1, rs.findColumn("Id"));
+            assertEquals("ID", rs.getMetaData().getColumnLabel(2));
+            assertTrue(rs.next());
+            assertEquals("1-0", rs.getString("ID"));
+            assertEquals("field value", rs.getString(2));
+
+            SQLException e = assertThrows(SQLException.class, () -> rs.findColumn("missing"));
+            assertTrue(e.getMessage().contains("missing"), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package com.synehq.jdbc.redis;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisStatementTest {
+
+    private static String[] limited(String sql, int limit) {
+        return RedisStatement.limitRows(RedisCommandParser.parse(sql), limit).getArgs();
+    }
+
+    private static void assertUnchanged(String sql, int limit) {
+        RedisCommand command = RedisCommandParser.parse(sql);
+        assertSame(command, RedisStatement.limitRows(command, limit));
+    }
+
+    @Test
+    void rangeStopIsPulledIn() {
+        assertArrayEquals(new String[] { "l", "5", "14" }, limited("LRANGE l 5 -1", 10));
+        assertArrayEquals(new String[] { "z", "0", "9" }, limited("ZRANGE z 0 100", 10));
+        assertArrayEquals(new String[] { "z", "0", "9" }, limited("ZREVRANGE z 0 -1", 10));
+    }
+
+    @Test
+    void rangeWithinLimitIsUnchanged() {
+        assertUnchanged("LRANGE l 0 4", 10);
+        assertUnchanged("LRANGE l 0 9", 10);
+    }
+
+    @Test
+    void rangeCountedFromTheEndIsUnchanged() {
+        assertUnchanged("LRANGE l -20 -1", 10);
+        assertUnchanged("LRANGE l 0 -2", 10);
+        assertUnchanged("ZRANGE z 0 -1 WITHSCORES", 10);
+    }
+
+    @Test
+    void streamRangeGetsCount() {
+        assertArrayEquals(new String[] { "s", "-", "+", "COUNT", "10" }, limited("XRANGE s - +", 10));
+        assertArrayEquals(new String[] { "s", "+", "-", "COUNT", "10" }, limited("XREVRANGE s + - COUNT 50", 10));
+        assertUnchanged("XRANGE s - + COUNT 5", 10);
+    }
+
+    @Test
+    void xreadCountIsPrependedOrLowered() {
+        assertArrayEquals(new String[] { "COUNT", "10", "STREAMS", "s", "0" }, limited("XREAD STREAMS s 0", 10));
+        assertArrayEquals(new String[] { "COUNT", "10", "BLOCK", "0", "STREAMS", "s", "$" },
+            limited("XREAD COUNT 100 BLOCK 0 STREAMS s $", 10));
+        assertUnchanged("XREAD COUNT 3 STREAMS s 0", 10);
+    }
+
+    @Test
+    void xreadStreamNamedCountIsNotAnOption() {
+        assertArrayEquals(new String[] { "COUNT", "10", "STREAMS", "COUNT", "0" }, limited("XREAD STREAMS COUNT 0", 10));
+    }
+
+    @Test
+    void scoreRangeGetsLimit() {
+        assertArrayEquals(new String[] { "z", "-inf", "+inf", "LIMIT", "0", "10" }, limited("ZRANGEBYSCORE z -inf +inf", 10));
+        assertArrayEquals(new String[] { "z", "+", "-", "LIMIT", "5", "10" }, limited("ZREVRANGEBYLEX z + - LIMIT 5 -1", 10));
+        assertArrayEquals(new String[] { "z", "(1", "5", "WITHSCORES", "LIMIT", "0", "10" },
+            limited("ZRANGEBYSCORE z (1 5 WITHSCORES LIMIT 0 20", 10));
+        assertUnchanged("ZREVRANGEBYSCORE z +inf -inf LIMIT 0 3", 10);
+    }
+
+    @Test
+    void malformedArgumentsAreUnchanged() {
+        assertUnchanged("LRANGE l zero 10", 10);
+        assertUnchanged("LRANGE l 0", 10);
+        assertUnchanged("XRANGE s - + COUNT many", 10);
+        assertUnchanged("XREAD COUNT many STREAMS s 0", 10);
+        assertUnchanged("ZRANGEBYSCORE z 0 1 LIMIT 0 all", 10);
+        assertUnchanged("ZRANGEBYSCORE z", 10);
+    }
+
+    @Test
+    void otherCommandsAreUnchanged() {
+        assertUnchanged("HGETALL h", 10);
+        assertEquals("SMEMBERS", RedisStatement.limitRows(RedisCommandParser.parse("smembers s"), 10).getCommand());
+    }
+
+    private static String queryValue(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+
+    @Test
+    void transactionOnDedicatedConnection() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer()) {
+            AtomicBoolean multi = new AtomicBoolean();
+            server.respond(command -> {
+                switch (command.get(0)) {
+                    case "MULTI":
+                        multi.set(true);
+                        return FakeRedisServer.simple("OK");
+                    case "EXEC":
+                        multi.set(false);
+                        return FakeRedisServer.array(FakeRedisServer.integer(1), FakeRedisServer.integer(1));
+                    default:
+                        return multi.get() ? FakeRedisServer.simple("QUEUED") : FakeRedisServer.integer(0);
+                }
+            });
+            Properties properties = new Properties();
+            properties.setProperty("dedicatedConnection", "true");
+            try (Connection connection = new RedisConnection(server.getUrl(), properties);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("MULTI");
+                assertEquals("QUEUED", queryValue(statement, "HSET h f v"));
+                // Checked without sending anything into the transaction
+                assertTrue(connection.isValid(1));
+                assertEquals("QUEUED", queryValue(statement, "DEL k"));
+                try (ResultSet rs = statement.executeQuery("EXEC")) {
+                    assertTrue(rs.next());
+                    assertEquals(1, rs.getLong(1));
+                    assertTrue(rs.next());
+                    assertEquals(1, rs.getLong(1));
+                    assertFalse(rs.next());
+                }
+                // Typed replies again once the transaction is over
+                assertEquals("0", queryValue(statement, "DEL k"));
+            }
+            assertEquals(1, server.getConnections());
+            assertEquals(0, server.count("PING"));
+        }
+    }
+
+    @Test
+    void keylessCommandsRunWithFetchSize() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), new Properties());
+             Statement statement = connection.createStatement()) {
+            statement.setFetchSize(100);
+
+            assertEquals("PONG", queryValue(statement, "PING"));
+            assertEquals(1, server.count("PING"));
+        }
+    }
+
+    @Test
+    void malformedRangeWithFetchSizeIsNotStreamed() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), new Properties());
+             Statement statement = connection.createStatement()) {
+            statement.setFetchSize(100);
+
+            assertThrows(SQLException.class, () -> statement.executeQuery("LRANGE k a b"));
+            assertEquals(0, server.count("LLEN"));
+            assertEquals(0, server.count("LRANGE"));
+        }
+    }
+
+    @Test
+    void queryTimeoutAbortsUnansweredCommand() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), new Properties());
+             Statement statement = connection.createStatement()) {
+            server.respond(command -> "GET".equals(command.get(0)) ? await(release, null) : null);
+            statement.setQueryTimeout(1);
+
+            assertThrows(SQLTimeoutException.class, () -> statement.executeQuery("GET k"));
+
+            // The aborted socket is discarded, not handed to the next command
+            server.respond(command -> null);
+            assertEquals("PONG", queryValue(statement, "PING"));
+            assertEquals(2, server.getConnections());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void cancelAbortsUnansweredCommand() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), new Properties());
+             Statement statement = connection.createStatement()) {
+            server.respond(command -> {
+                if (!"GET".equals(command.get(0))) {
+                    return null;
+                }
+                started.countDown();
+                return await(release, null);
+            });
+            CompletableFuture<Void> query = CompletableFuture.runAsync(() -> {
+                SQLException e = assertThrows(SQLException.class, () -> statement.executeQuery("GET k"));
+                assertTrue(e.getMessage().contains("cancelled"), e.getMessage());
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            statement.cancel();
+
+            query.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void cancelUnblocksBlockingCommand() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch unblocked = new CountDownLatch(1);
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), new Properties());
+             Statement statement = connection.createStatement()) {
+            server.respond(command -> {
+                switch (command.get(0)) {
+                    case "CLIENT":
+                        if ("UNBLOCK".equalsIgnoreCase(command.get(1))) {
+                            unblocked.countDown();
+                            return FakeRedisServer.integer(1);
+                        }
+                        return FakeRedisServer.integer(7);
+                    case "BLPOP":
+                        if ("ready".equals(command.get(1))) {
+                            return FakeRedisServer.array(FakeRedisServer.bulk("ready"), FakeRedisServer.bulk("v"));
+                        }
+                        started.countDown();
+                        return await(unblocked, FakeRedisServer.error("UNBLOCKED client unblocked via CLIENT UNBLOCK"));
+                    default:
+                        return null;
+                }
+            });
+            statement.executeQuery("BLPOP ready 0").close();
+            CompletableFuture<Void> query = CompletableFuture.runAsync(() -> {
+                SQLException e = assertThrows(SQLException.class, () -> statement.executeQuery("BLPOP l 0"));
+                assertTrue(e.getMessage().contains("cancelled"), e.getMessage());
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            statement.cancel();
+
+            query.get(5, TimeUnit.SECONDS);
+            assertTrue(server.getCommands().contains(Arrays.asList("CLIENT", "UNBLOCK", "7", "ERROR")));
+            // The client id is asked for once per socket
+            assertEquals(1, server.getCommands().stream()
+                .filter(command -> command.equals(Arrays.asList("CLIENT", "ID"))).count());
+        }
+    }
+
+    @Test
+    void cancelUnblocksOnTheNodeThatRanTheCommand() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch unblocked = new CountDownLatch(1);
+        try (FakeRedisServer first = new FakeRedisServer();
+             FakeRedisServer second = new FakeRedisServer()) {
+            AtomicReference<FakeRedisServer> owner = new AtomicReference<>(first);
+            Function<List<String>, String> node = command -> {
+                switch (command.get(0)) {
+                    case "CLUSTER":
+                        return FakeRedisServer.array(FakeRedisServer.slots(0, 16383, owner.get()));
+                    case "CLIENT":
+                        if ("UNBLOCK".equalsIgnoreCase(command.get(1))) {
+                            unblocked.countDown();
+                            return FakeRedisServer.integer(1);
+                        }
+                        return FakeRedisServer.integer(7);
+                    case "BLPOP":
+                        started.countDown();
+                        return await(unblocked, FakeRedisServer.error("UNBLOCKED client unblocked via CLIENT UNBLOCK"));
+                    default:
+                        return null;
+                }
+            };
+            first.respond(node);
+            second.respond(node);
+            try (RedisConnection connection = new RedisConnection(
+                     "jdbc:redis:cluster://127.0.0.1:" + first.getPort(), new Properties());
+                 Statement statement = connection.createStatement()) {
+                CompletableFuture<Void> query = CompletableFuture.runAsync(
+                    () -> assertThrows(SQLException.class, () -> statement.executeQuery("BLPOP l 0")));
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                // The slot moves while the command is blocked on the first node
+                owner.set(second);
+                connection.renewClusterSlots();
+                assertEquals(second.getPort(), connection.getClusterNode("l").getPort());
+
+                statement.cancel();
+
+                query.get(5, TimeUnit.SECONDS);
+            }
+            assertTrue(first.getCommands().contains(Arrays.asList("CLIENT", "UNBLOCK", "7", "ERROR")));
+            assertTrue(second.getCommands().stream()
+                .noneMatch(command -> command.size() > 1 && "UNBLOCK".equals(command.get(1))));
+        }
+    }
+
+    @Test
+    void blockingCommandInTransactionIsOnlyQueued() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer()) {
+            AtomicBoolean multi = new AtomicBoolean();
+            server.respond(command -> {
+                switch (command.get(0)) {
+                    case "MULTI":
+                        multi.set(true);
+                        return FakeRedisServer.simple("OK");
+                    case "EXEC":
+                        multi.set(false);
+                        return FakeRedisServer.array(FakeRedisServer.bulk(null));
+                    default:
+                        return multi.get() ? FakeRedisServer.simple("QUEUED") : null;
+                }
+            });
+            Properties properties = new Properties();
+            properties.setProperty("dedicatedConnection", "true");
+            try (Connection connection = new RedisConnection(server.getUrl(), properties);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("MULTI");
+                assertEquals("QUEUED", queryValue(statement, "BLPOP l 0"));
+                try (ResultSet rs = statement.executeQuery("EXEC")) {
+                    assertTrue(rs.next());
+                    assertFalse(rs.next());
+                }
+            }
+            assertFalse(server.getCommands().contains(Arrays.asList("CLIENT", "ID")));
+        }
+    }
+
+    /**
+     * Hold back a reply until the latch opens, as a server that never answers does.
+     */
+    private static String await(CountDownLatch latch, String reply) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return reply;
+    }
+
+    /**
+     * Reply to batched writes: SET with OK, DEL with the number of keys, and -ERR for INCR.
+     */
+    private static String batchReplies(List<String> command) {
+        switch (command.get(0)) {
+            case "SET":
+                return FakeRedisServer.simple("OK");
+            case "DEL":
+                return FakeRedisServer.integer(command.size() - 1);
+            case "INCR":
+                return FakeRedisServer.error("ERR value is not an integer or out of range");
+            default:
+                return null;
+        }
+    }
+
+    @Test
+    void batchReturnsUpdateCounts() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), new Properties());
+             Statement statement = connection.createStatement()) {
+            server.respond(RedisStatementTest::batchReplies);
+            statement.addBatch("SET a 1");
+            statement.addBatch("DEL a b c");
+            statement.addBatch("GET a");
+
+            assertArrayEquals(new int[] { 1, 3, 0 }, statement.executeBatch());
+            // One pipeline, and the batch is cleared afterwards
+            assertEquals(1, server.getConnections());
+            assertArrayEquals(new int[0], statement.executeBatch());
+        }
+    }
+
+    @Test
+    void failingBatchCommandKeepsTheOtherCounts() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), new Properties());
+             Statement statement = connection.createStatement()) {
+            server.respond(RedisStatementTest::batchReplies);
+            statement.addBatch("SET a 1");
+            statement.addBatch("INCR a");
+            statement.addBatch("DEL a");
+
+            BatchUpdateException e = assertThrows(BatchUpdateException.class, statement::executeBatch);
+            assertArrayEquals(new int[] { 1, Statement.EXECUTE_FAILED, 1 }, e.getUpdateCounts());
+            // The commands after the failing one still ran
+            assertEquals(1, server.count("DEL"));
+        }
+    }
+
+    @Test
+    void preparedBatchBindsEachParameterSet() throws Exception {
+        try (FakeRedisServer server = new FakeRedisServer();
+             Connection connection = new RedisConnection(server.getUrl(), new Properties());
+             PreparedStatement statement = connection.prepareStatement("SET ? ?")) {
+            server.respond(RedisStatementTest::batchReplies);
+            for (int i = 0; i < 3; i++) {
+                statement.setString(1, "k" + i);
+                statement.setInt(2, i);
+                statement.addBatch();
+            }
+
+            assertArrayEquals(new int[] { 1, 1, 1 }, statement.executeBatch());
+            assertTrue(server.getCommands().containsAll(Arrays.asList(
+                Arrays.asList("SET", "k0", "0"), Arrays.asList("SET", "k1", "1"), Arrays.asList("SET", "k2", "2"))));
+        }
+    }
+
+    /**
+     * Two fake cluster nodes splitting the slots in half, answering writes with {@link #batchReplies}.
+     */
+    private static Function<List<String>, String> halves(FakeRedisServer low, FakeRedisServer high) {
+        return command -> "CLUSTER".equals(command.get(0))
+            ? FakeRedisServer.array(FakeRedisServer.slots(0, 8191, low), FakeRedisServer.slots(8192, 16383, high))
+            : batchReplies(command);
+    }
+
+    @Test
+    void clusterBatchIsPipelinedPerNode() throws Exception {
+        try (FakeRedisServer low = new FakeRedisServer();
+             FakeRedisServer high = new FakeRedisServer()) {
+            low.respond(halves(low, high));
+            high.respond(halves(low, high));
+            String a = FakeRedisServer.keyInSlots("a", 0, 8191);
+            String b = FakeRedisServer.keyInSlots("b", 8192, 16383);
+
+            try (Connection connection = new RedisConnection("jdbc:redis:cluster://127.0.0.1:" + low.getPort(), new Properties());
+                 PreparedStatement statement = connection.prepareStatement("SET ? v")) {
+                for (String key : new String[] { a, b, a }) {
+                    statement.setString(1, key);
+                    statement.addBatch();
+                }
+                assertArrayEquals(new int[] { 1, 1, 1 }, statement.executeBatch());
+            }
+            assertEquals(2, low.count("SET"));
+            assertEquals(1, high.count("SET"));
+        }
+    }
+
+    @Test
+    void clusterBatchKeepsCountsOfNodesThatRan() throws Exception {
+        try (FakeRedisServer low = new FakeRedisServer()) {
+            FakeRedisServer high = new FakeRedisServer();
+            low.respond(halves(low, high));
+            high.respond(halves(low, high));
+            String a = FakeRedisServer.keyInSlots("a", 0, 8191);
+            String b = FakeRedisServer.keyInSlots("b", 8192, 16383);
+
+            try (Connection connection = new RedisConnection("jdbc:redis:cluster://127.0.0.1:" + low.getPort(), new Properties());
+                 Statement statement = connection.createStatement()) {
+                // The node owning the upper half goes away
+                high.close();
+                statement.addBatch("SET " + a + " 1");
+                statement.addBatch("SET " + b + " 1");
+                statement.addBatch("DEL " + a);
+
+                BatchUpdateException e = assertThrows(BatchUpdateException.class, statement::executeBatch);
+                assertArrayEquals(new int[] { 1, Statement.EXECUTE_FAILED, 1 }, e.getUpdateCounts());
+            }
+            assertEquals(1, low.count("SET"));
+            assertEquals(1, low.count("DEL"));
+        }
+    }
+
+    @Test
+    void dedicatedConnectionIsRejectedForClusterUrls() {
+        Properties properties = new Properties();
+        properties.setProperty("dedicatedConnection", "true");
+
+        assertThrows(SQLFeatureNotSupportedException.class,
+            () -> new RedisConnection("jdbc:redis:cluster://127.0.0.1:1", properties));
+    }
+}
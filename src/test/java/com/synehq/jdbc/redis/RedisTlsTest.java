@@ -0,0 +1,59 @@
+package com.synehq.jdbc.redis;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.net.ssl.KeyManager;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisTlsTest {
+
+    @Test
+    void keyManagersComeFromTheJvmKeyStore(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("client.p12");
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            keyStore.store(out, "secret".toCharArray());
+        }
+
+        String[] names = { "javax.net.ssl.keyStore", "javax.net.ssl.keyStoreType", "javax.net.ssl.keyStorePassword" };
+        String[] saved = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            saved[i] = System.getProperty(names[i]);
+        }
+        try {
+            System.clearProperty("javax.net.ssl.keyStore");
+            assertNull(RedisTls.defaultKeyManagers());
+
+            System.setProperty("javax.net.ssl.keyStore", file.toString());
+            System.setProperty("javax.net.ssl.keyStoreType", "PKCS12");
+            System.setProperty("javax.net.ssl.keyStorePassword", "secret");
+            KeyManager[] keyManagers = RedisTls.defaultKeyManagers();
+            assertNotNull(keyManagers);
+            assertTrue(keyManagers.length > 0);
+        } finally {
+            for (int i = 0; i < names.length; i++) {
+                if (saved[i] == null) {
+                    System.clearProperty(names[i]);
+                } else {
+                    System.setProperty(names[i], saved[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void onlyVerifyingParametersCheckTheHostname() {
+        assertEquals("HTTPS", RedisTls.parameters(true).getEndpointIdentificationAlgorithm());
+        assertNull(RedisTls.parameters(false).getEndpointIdentificationAlgorithm());
+    }
+}